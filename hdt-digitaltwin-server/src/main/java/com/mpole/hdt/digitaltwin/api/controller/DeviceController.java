@@ -3,13 +3,20 @@ package com.mpole.hdt.digitaltwin.api.controller;
 import com.mpole.hdt.digitaltwin.api.dto.ApiResponse;
 import com.mpole.hdt.digitaltwin.api.dto.device.*;
 import com.mpole.hdt.digitaltwin.api.dto.devicemodel.DeviceModelDTO;
+import com.mpole.hdt.digitaltwin.api.dto.history.DeviceHistorySeriesDTO;
+import com.mpole.hdt.digitaltwin.api.dto.history.SparklineDTO;
+import com.mpole.hdt.digitaltwin.application.history.RollupResolution;
+import com.mpole.hdt.digitaltwin.application.service.DeviceHistoryService;
 import com.mpole.hdt.digitaltwin.application.service.DeviceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.List;
 
 /**
@@ -23,6 +30,7 @@ import java.util.List;
 public class DeviceController {
     
     private final DeviceService service;
+    private final DeviceHistoryService historyService;
     
     // ========================================
     // Device CRUD
@@ -178,5 +186,54 @@ public class DeviceController {
         List<DeviceByCategoryDTO> models = service.getDevicesByCategoryId(categoryId);
         return ResponseEntity.ok(ApiResponse.success("조회 성공", models));
     }
-}
 
+    // ========================================
+    // 이력 조회
+    // ========================================
+
+    /**
+     * 장비 이력 조회 (해상도 자동 선택, resolution 지정 시 고정)
+     * GET /api/devices/code/{deviceCode}/history?from=&to=&maxPoints=&keys=&resolution=
+     */
+    @GetMapping("/code/{deviceCode}/history")
+    public ResponseEntity<ApiResponse<DeviceHistorySeriesDTO>> getHistory(
+            @PathVariable String deviceCode,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @RequestParam(required = false, defaultValue = "500") Integer maxPoints,
+            @RequestParam(required = false) List<String> keys,
+            @RequestParam(required = false) RollupResolution resolution) {
+        OffsetDateTime end = (to != null) ? to : OffsetDateTime.now();
+        OffsetDateTime start = (from != null) ? from : end.minusHours(1);
+        log.info("장비 이력 조회: deviceCode={}, from={}, to={}, maxPoints={}", deviceCode, start, end, maxPoints);
+        DeviceHistorySeriesDTO history = historyService.getHistory(deviceCode, start, end, maxPoints, resolution, keys);
+        return ResponseEntity.ok(ApiResponse.success("조회 성공", history));
+    }
+
+    /**
+     * 최근 구간 원본 이력 (메모리 버퍼 우선)
+     * GET /api/devices/code/{deviceCode}/history/recent?minutes=&keys=
+     */
+    @GetMapping("/code/{deviceCode}/history/recent")
+    public ResponseEntity<ApiResponse<DeviceHistorySeriesDTO>> getRecentHistory(
+            @PathVariable String deviceCode,
+            @RequestParam(required = false, defaultValue = "60") Integer minutes,
+            @RequestParam(required = false) List<String> keys) {
+        DeviceHistorySeriesDTO history = historyService.getRecent(deviceCode, Duration.ofMinutes(minutes), keys);
+        return ResponseEntity.ok(ApiResponse.success("조회 성공", history));
+    }
+
+    /**
+     * 최근 구간 스파크라인
+     * GET /api/devices/code/{deviceCode}/history/sparkline?minutes=&points=&keys=
+     */
+    @GetMapping("/code/{deviceCode}/history/sparkline")
+    public ResponseEntity<ApiResponse<SparklineDTO>> getSparkline(
+            @PathVariable String deviceCode,
+            @RequestParam(required = false, defaultValue = "60") Integer minutes,
+            @RequestParam(required = false, defaultValue = "60") Integer points,
+            @RequestParam(required = false) List<String> keys) {
+        SparklineDTO sparkline = historyService.getSparkline(deviceCode, Duration.ofMinutes(minutes), points, keys);
+        return ResponseEntity.ok(ApiResponse.success("조회 성공", sparkline));
+    }
+}
@@ -1,14 +1,16 @@
 package com.mpole.hdt.digitaltwin.api.controller;
 
-import com.mpole.hdt.digitaltwin.api.dto.DigitalTwinDataDto;
 import com.mpole.hdt.digitaltwin.api.dto.DigitalTwinResponseDto;
-import com.mpole.hdt.digitaltwin.application.service.DigitalTwinMockService;
+import com.mpole.hdt.digitaltwin.application.realtime.FieldRegistry;
+import com.mpole.hdt.digitaltwin.application.state.AssetSnapshot;
+import com.mpole.hdt.digitaltwin.application.state.DigitalTwinLiveStateService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -21,7 +23,8 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class DigitalTwinRestController {
 
-    private final DigitalTwinMockService mockService;
+    private final DigitalTwinLiveStateService liveState;
+    private final FieldRegistry fieldRegistry;
 
     /**
      * 헬스체크 엔드포인트
@@ -31,6 +34,15 @@ public class DigitalTwinRestController {
         return ResponseEntity.ok("DigitalTwin Server is running!");
     }
 
+    /**
+     * 실시간 프레임 필드 ID 사전
+     * GET /api/digitaltwin/fields
+     */
+    @GetMapping("/fields")
+    public ResponseEntity<Map<Integer, String>> getFields() {
+        return ResponseEntity.ok(fieldRegistry.dictionary());
+    }
+
     /**
      * 모든 디지털 트윈 데이터 조회
      * GET /api/digitaltwin/data
@@ -39,7 +51,7 @@ public class DigitalTwinRestController {
     public ResponseEntity<DigitalTwinResponseDto> getAllData() {
         log.info("===== 전체 데이터 조회 요청 =====");
         
-        List<DigitalTwinDataDto> dataList = mockService.getAllData();
+        List<AssetSnapshot> dataList = liveState.getAllData();
         
         DigitalTwinResponseDto response = DigitalTwinResponseDto.builder()
                 .success(true)
@@ -59,7 +71,7 @@ public class DigitalTwinRestController {
     public ResponseEntity<DigitalTwinResponseDto> getDataByAssetId(@PathVariable String assetId) {
         log.info("===== 자산 ID로 데이터 조회: {} =====", assetId);
         
-        Optional<DigitalTwinDataDto> data = mockService.getDataByAssetId(assetId);
+        Optional<AssetSnapshot> data = liveState.getDataByAssetId(assetId);
         
         if (data.isPresent()) {
             DigitalTwinResponseDto response = DigitalTwinResponseDto.builder()
@@ -82,7 +94,7 @@ public class DigitalTwinRestController {
     public ResponseEntity<DigitalTwinResponseDto> getDataByAssetType(@PathVariable String assetType) {
         log.info("===== 자산 유형별 데이터 조회: {} =====", assetType);
         
-        List<DigitalTwinDataDto> dataList = mockService.getDataByAssetType(assetType);
+        List<AssetSnapshot> dataList = liveState.getDataByAssetType(assetType);
         
         DigitalTwinResponseDto response = DigitalTwinResponseDto.builder()
                 .success(true)
@@ -102,7 +114,7 @@ public class DigitalTwinRestController {
     public ResponseEntity<DigitalTwinResponseDto> getDataByStatus(@PathVariable String status) {
         log.info("===== 장비 상태별 데이터 조회: {} =====", status);
         
-        List<DigitalTwinDataDto> dataList = mockService.getDataByStatus(status);
+        List<AssetSnapshot> dataList = liveState.getDataByStatus(status);
         
         DigitalTwinResponseDto response = DigitalTwinResponseDto.builder()
                 .success(true)
@@ -124,7 +136,7 @@ public class DigitalTwinRestController {
             @RequestParam String status) {
         log.info("===== 장비 상태 변경 요청: {} -> {} =====", assetId, status);
         
-        boolean success = mockService.updateEquipmentStatus(assetId, status);
+        boolean success = liveState.updateEquipmentStatus(assetId, status);
         
         if (success) {
             return ResponseEntity.ok("상태 변경 성공: " + assetId + " -> " + status);
@@ -1,19 +1,26 @@
 package com.mpole.hdt.digitaltwin.api.controller;
 
-import com.mpole.hdt.digitaltwin.api.dto.DigitalTwinDataDto;
-import com.mpole.hdt.digitaltwin.application.service.DigitalTwinMockService;
+import com.mpole.hdt.digitaltwin.application.realtime.FieldRegistry;
+import com.mpole.hdt.digitaltwin.application.realtime.InterestRegion;
+import com.mpole.hdt.digitaltwin.application.realtime.InterestSubscriptionRegistry;
+import com.mpole.hdt.digitaltwin.application.realtime.SyncResponse;
+import com.mpole.hdt.digitaltwin.application.service.DigitalTwinSyncService;
+import com.mpole.hdt.digitaltwin.application.state.AssetSnapshot;
+import com.mpole.hdt.digitaltwin.application.state.DigitalTwinLiveStateService;
+import com.mpole.hdt.digitaltwin.infrastructure.websocket.StompBroadcaster;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.handler.annotation.SendTo;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.stereotype.Controller;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * WebSocket STOMP 컨트롤러
@@ -24,8 +31,11 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class StompController {
     
-    private final SimpMessagingTemplate messagingTemplate;
-    private final DigitalTwinMockService mockService;
+    private final StompBroadcaster broadcaster;
+    private final DigitalTwinLiveStateService liveState;
+    private final FieldRegistry fieldRegistry;
+    private final DigitalTwinSyncService syncService;
+    private final InterestSubscriptionRegistry interestRegistry;
 
     /**
      * Unity에서 연결 확인용 메시지
@@ -50,11 +60,11 @@ public class StompController {
     public void requestAssetData(@DestinationVariable String assetId) {
         log.info("===== 자산 데이터 요청: {} =====", assetId);
         
-        Optional<DigitalTwinDataDto> data = mockService.getDataByAssetId(assetId);
+        Optional<AssetSnapshot> data = liveState.getDataByAssetId(assetId);
         
         if (data.isPresent()) {
             // 요청한 자산의 데이터를 해당 채널로 전송
-            messagingTemplate.convertAndSend("/sub/digitaltwin/" + assetId, data.get());
+            broadcaster.broadcastLatest("/sub/digitaltwin/" + assetId, data.get());
         } else {
             // 데이터가 없으면 에러 메시지 전송
             Map<String, String> error = Map.of(
@@ -62,7 +72,7 @@ public class StompController {
                     "assetId", assetId,
                     "message", "자산을 찾을 수 없습니다"
             );
-            messagingTemplate.convertAndSend("/sub/digitaltwin/error", error);
+            broadcaster.broadcast("/sub/digitaltwin/error", error);
         }
     }
 
@@ -74,8 +84,59 @@ public class StompController {
     public void requestAllData() {
         log.info("===== 전체 데이터 요청 =====");
         
-        List<DigitalTwinDataDto> allData = mockService.getAllData();
-        messagingTemplate.convertAndSend("/sub/digitaltwin/all", allData);
+        List<AssetSnapshot> allData = liveState.getAllData();
+        broadcaster.broadcastLatest("/sub/digitaltwin/all", allData);
+    }
+
+    /**
+     * Unity 구독 시작/재접속 시 동기화 요청
+     * /pub/digitaltwin/sync {"lastVersion": n, "node": "..."} -> /user/sub/digitaltwin/sync (요청 세션에만)
+     * lastVersion 생략, 변경 이력 범위 밖, node가 접속 노드와 다르면 전체 스냅샷
+     * (lastVersion은 응답 node와 같은 hdt-origin 프레임의 seq만 사용)
+     */
+    @MessageMapping("/digitaltwin/sync")
+    public void sync(@Payload(required = false) Map<String, Object> message, SimpMessageHeaderAccessor headerAccessor) {
+        long lastVersion = -1;
+        if (message != null && message.get("lastVersion") instanceof Number n) {
+            lastVersion = n.longValue();
+        }
+        String node = message != null && message.get("node") instanceof String s ? s : null;
+
+        SyncResponse response = syncService.sync(lastVersion, node);
+        broadcaster.sendToSession(headerAccessor.getSessionId(), "/sub/digitaltwin/sync", response);
+        log.info("===== 동기화 요청: session={} lastVersion={} -> {} v{} =====",
+                headerAccessor.getSessionId(), lastVersion, response.mode(), response.version());
+    }
+
+    /**
+     * Unity 관심 영역 구독 (floor/layer/AABB, 지정한 조건 모두 만족)
+     * /pub/digitaltwin/interest {"floorLevel": "Floor_1F", "min": {"x":0,"y":0,"z":0}, "max": {...}}
+     * -> /user/sub/digitaltwin/interest/assets (포함 장비 목록), 이후 /user/sub/digitaltwin/interest 로 영역 내 변경분만 전송
+     * 조건 없이 보내면 구독 해제
+     */
+    @MessageMapping("/digitaltwin/interest")
+    public void subscribeInterest(@Payload InterestRegion region, SimpMessageHeaderAccessor headerAccessor) {
+        String sessionId = headerAccessor.getSessionId();
+        if (region == null || region.isEmpty()) {
+            interestRegistry.unsubscribe(sessionId);
+            broadcaster.sendToSession(sessionId, "/sub/digitaltwin/interest/assets", Set.of());
+            log.info("===== 관심 영역 해제: session={} =====", sessionId);
+            return;
+        }
+
+        Set<String> assetIds = interestRegistry.subscribe(sessionId, region);
+        broadcaster.sendToSession(sessionId, "/sub/digitaltwin/interest/assets", assetIds);
+        log.info("===== 관심 영역 구독: session={} region={} -> {} 건 =====", sessionId, region, assetIds.size());
+    }
+
+    /**
+     * Unity에서 실시간 프레임 필드 ID 사전 요청
+     * /pub/digitaltwin/request/fields -> /sub/digitaltwin/fields
+     */
+    @MessageMapping("/digitaltwin/request/fields")
+    @SendTo("/sub/digitaltwin/fields")
+    public Map<Integer, String> requestFields() {
+        return fieldRegistry.dictionary();
     }
 
     /**
@@ -87,9 +148,9 @@ public class StompController {
         log.info("===== 자산 구독 요청: {} =====", assetId);
         
         // 현재 데이터를 즉시 전송
-        Optional<DigitalTwinDataDto> data = mockService.getDataByAssetId(assetId);
+        Optional<AssetSnapshot> data = liveState.getDataByAssetId(assetId);
         if (data.isPresent()) {
-            messagingTemplate.convertAndSend("/sub/digitaltwin/" + assetId, data.get());
+            broadcaster.broadcastLatest("/sub/digitaltwin/" + assetId, data.get());
             log.info("자산 {} 초기 데이터 전송 완료", assetId);
         }
     }
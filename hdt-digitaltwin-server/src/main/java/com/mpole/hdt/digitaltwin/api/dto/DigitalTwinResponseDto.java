@@ -1,5 +1,6 @@
 package com.mpole.hdt.digitaltwin.api.dto;
 
+import com.mpole.hdt.digitaltwin.application.state.AssetSnapshot;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,7 +20,7 @@ public class DigitalTwinResponseDto {
     
     private boolean success;
     private String message;
-    private List<DigitalTwinDataDto> data;
+    private List<AssetSnapshot> data;
     private int totalCount;
 }
 
@@ -0,0 +1,26 @@
+package com.mpole.hdt.digitaltwin.api.dto.history;
+
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeviceHistorySeriesDTO {
+
+    private String deviceCode;
+
+    // RAW | MINUTE | HOUR | DAY
+    private String resolution;
+
+    private OffsetDateTime from;
+    private OffsetDateTime to;
+
+    // 측정값 키 → 시간순 목록
+    private Map<String, List<HistoryPointDTO>> series;
+}
@@ -0,0 +1,25 @@
+package com.mpole.hdt.digitaltwin.api.dto.history;
+
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 이력 1점 (RAW면 min = max = avg = last, count = 1)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HistoryPointDTO {
+
+    // 구간 시작 시각 (RAW: 샘플 시각)
+    private OffsetDateTime timestamp;
+
+    private Double min;
+    private Double max;
+    private Double avg;
+    private Double last;
+    private Long count;
+}
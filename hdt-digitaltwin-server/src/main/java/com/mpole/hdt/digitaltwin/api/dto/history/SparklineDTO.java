@@ -0,0 +1,30 @@
+package com.mpole.hdt.digitaltwin.api.dto.history;
+
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 스파크라인 (구간을 points 개 칸으로 나눈 칸별 평균, 데이터 없는 칸은 null)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SparklineDTO {
+
+    private String deviceCode;
+
+    // MEMORY | RAW | MINUTE | HOUR | DAY
+    private String source;
+
+    private OffsetDateTime from;
+    private OffsetDateTime to;
+    private Long stepMillis;
+
+    // 측정값 키 → 칸별 값
+    private Map<String, List<Double>> series;
+}
@@ -0,0 +1,341 @@
+package com.mpole.hdt.digitaltwin.application.history;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * device_history / device_sample 시간 범위 파티션 관리 (PostgreSQL RANGE)
+ * - 기동 시: device_history가 일반 테이블이면 파티션 테이블로 전환 (기존 테이블은 MINVALUE ~ 전환 시점 파티션으로 attach)
+ * - 기동 시: device_sample(숫자 측정값 narrow 테이블)이 없으면 생성 (파티션 비활성이어도 일반 테이블로 생성,
+ *   이후 활성화하면 device_history와 같은 방식으로 파티션 테이블 전환)
+ * - 기동 시/매일: 현재 구간부터 precreate 개 미래 파티션 생성
+ * - 보존 기간이 지난 파티션은 통째로 DROP 또는 DETACH (DELETE 없음 → bloat 없음)
+ * - 범위 조회는 timestamp 조건으로 파티션 pruning (DeviceHistoryRepository 참고)
+ * - DeviceHistoryWriter보다 먼저 시작 (phase)
+ */
+@Slf4j
+@Component
+public class DeviceHistoryPartitionManager implements SmartLifecycle {
+
+    private static final String TABLE = "device_history";
+    private static final String LEGACY_TABLE = "device_history_legacy";
+    private static final String SAMPLE_TABLE = "device_sample";
+    private static final String SAMPLE_LEGACY_TABLE = "device_sample_legacy";
+    private static final List<String> PARTITIONED_TABLES = List.of(TABLE, SAMPLE_TABLE);
+    // 다중 인스턴스 동시 실행 방지 (pg_advisory_xact_lock 키)
+    private static final long LOCK_KEY = 0x6864745f68697374L;
+
+    private static final String LIST_PARTITIONS_SQL = """
+            SELECT c.relname AS name,
+                   (regexp_match(pg_get_expr(c.relpartbound, c.oid), 'FROM \\(''([^'']+)''\\)'))[1]::timestamptz AS lower_bound,
+                   (regexp_match(pg_get_expr(c.relpartbound, c.oid), 'TO \\(''([^'']+)''\\)'))[1]::timestamptz AS upper_bound
+              FROM pg_inherits i
+              JOIN pg_class c ON c.oid = i.inhrelid
+             WHERE i.inhparent = ?::regclass
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Interval interval;
+    private final int precreate;
+    private final Duration retention;
+    private final RetentionAction retentionAction;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private volatile boolean running = false;
+
+    public DeviceHistoryPartitionManager(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${hdt.history.partition.enabled:true}") boolean enabled,
+            @Value("${hdt.history.partition.interval:DAILY}") Interval interval,
+            @Value("${hdt.history.partition.precreate:7}") int precreate,
+            @Value("${hdt.history.partition.retention:90d}") Duration retention,
+            @Value("${hdt.history.partition.retention-action:DROP}") RetentionAction retentionAction
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.interval = interval;
+        this.precreate = precreate;
+        this.retention = retention;
+        this.retentionAction = retentionAction;
+    }
+
+    /**
+     * 원본 이력 보존 기간 (0: 무기한, 파티션 미사용 시 정리하지 않음)
+     */
+    public Duration retention() {
+        return enabled ? retention : Duration.ZERO;
+    }
+
+    /**
+     * 미래 파티션 생성 + 보존 기간 경과 파티션 정리
+     */
+    @Scheduled(cron = "${hdt.history.partition.maintenance-cron:0 10 0 * * *}")
+    public void maintain() {
+        if (!enabled) return;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                lock();
+                PARTITIONED_TABLES.forEach(this::createFuturePartitions);
+            });
+            transactionTemplate.executeWithoutResult(status -> {
+                lock();
+                PARTITIONED_TABLES.forEach(this::enforceRetention);
+            });
+        } catch (RuntimeException e) {
+            log.error("이력 테이블 파티션 관리 실패", e);
+        }
+    }
+
+    private void lock() {
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", LOCK_KEY);
+    }
+
+    /**
+     * 일반 테이블 → 파티션 테이블 전환 (최초 1회), 테이블이 없으면 새로 생성
+     */
+    private void ensurePartitioned() {
+        String kind = jdbcTemplate.queryForObject(
+                "SELECT c.relkind::text FROM pg_class c WHERE c.oid = to_regclass(?)", String.class, TABLE);
+        if ("p".equals(kind)) return;
+
+        if (kind == null) {
+            log.info("===== device_history 파티션 테이블 생성 =====");
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS device_history_seq INCREMENT BY 50");
+            jdbcTemplate.execute("""
+                    CREATE TABLE device_history (
+                        id               bigint                      NOT NULL,
+                        device_id        bigint                      NOT NULL REFERENCES devices (id),
+                        timestamp        timestamp(6) with time zone NOT NULL,
+                        operation_status varchar(255),
+                        is_running       boolean,
+                        "values"         text,
+                        has_alarm        boolean,
+                        alarms           text,
+                        metadata         text
+                    ) PARTITION BY RANGE ("timestamp")
+                    """);
+            createParentConstraints();
+            return;
+        }
+
+        // 기존 데이터는 전환 시점 구간 끝까지를 범위로 하는 파티션 1개가 됨 (보존 기간이 지나면 통째로 정리)
+        OffsetDateTime maxTimestamp = jdbcTemplate.queryForObject(
+                "SELECT max(timestamp) FROM device_history", OffsetDateTime.class);
+        ZonedDateTime cutover = cutover(maxTimestamp);
+        log.info("===== device_history 파티션 테이블 전환 (기존 데이터 ~ {}) =====", cutover);
+
+        jdbcTemplate.execute("ALTER TABLE device_history RENAME TO " + LEGACY_TABLE);
+        jdbcTemplate.execute("ALTER TABLE " + LEGACY_TABLE + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+        // PK/인덱스 이름은 부모 테이블이 가져가고, attach 시 파티션 인덱스로 다시 생성됨
+        jdbcTemplate.execute("ALTER TABLE " + LEGACY_TABLE + " DROP CONSTRAINT IF EXISTS device_history_pkey");
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_device_timestamp");
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_timestamp");
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS device_history_seq INCREMENT BY 50");
+        jdbcTemplate.execute("SELECT setval('device_history_seq', "
+                + "greatest((SELECT coalesce(max(id), 0) FROM " + LEGACY_TABLE + "), "
+                + "(SELECT last_value FROM device_history_seq)))");
+        jdbcTemplate.execute("CREATE TABLE device_history (LIKE " + LEGACY_TABLE + " INCLUDING DEFAULTS) "
+                + "PARTITION BY RANGE (\"timestamp\")");
+        jdbcTemplate.execute("ALTER TABLE device_history ADD FOREIGN KEY (device_id) REFERENCES devices (id)");
+        createParentConstraints();
+        jdbcTemplate.execute("ALTER TABLE device_history ATTACH PARTITION " + LEGACY_TABLE
+                + " FOR VALUES FROM (MINVALUE) TO ('" + literal(cutover) + "')");
+    }
+
+    /**
+     * 숫자 측정값 narrow 테이블 (장비 × 포인트 × 시각), PK 없이 조회 인덱스만
+     * @param partitioned false면 일반 테이블, true면 파티션 테이블 (기존 일반 테이블은 전환)
+     */
+    private void ensureSampleTable(boolean partitioned) {
+        String kind = jdbcTemplate.queryForObject(
+                "SELECT c.relkind::text FROM pg_class c WHERE c.oid = to_regclass(?)", String.class, SAMPLE_TABLE);
+        if (kind == null) {
+            jdbcTemplate.execute("""
+                    CREATE TABLE device_sample (
+                        device_id bigint                      NOT NULL,
+                        point_id  integer                     NOT NULL,
+                        ts        timestamp(6) with time zone NOT NULL,
+                        value     double precision            NOT NULL,
+                        quality   smallint                    NOT NULL DEFAULT 0
+                    )""" + (partitioned ? " PARTITION BY RANGE (ts)" : ""));
+            jdbcTemplate.execute("CREATE INDEX idx_sample_device_point_ts ON device_sample (device_id, point_id, ts)");
+            return;
+        }
+        if (!partitioned || "p".equals(kind)) return;
+
+        OffsetDateTime maxTs = jdbcTemplate.queryForObject("SELECT max(ts) FROM device_sample", OffsetDateTime.class);
+        ZonedDateTime cutover = cutover(maxTs);
+        log.info("===== device_sample 파티션 테이블 전환 (기존 데이터 ~ {}) =====", cutover);
+
+        jdbcTemplate.execute("ALTER TABLE device_sample RENAME TO " + SAMPLE_LEGACY_TABLE);
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_sample_device_point_ts");
+        jdbcTemplate.execute("CREATE TABLE device_sample (LIKE " + SAMPLE_LEGACY_TABLE + " INCLUDING DEFAULTS) "
+                + "PARTITION BY RANGE (ts)");
+        jdbcTemplate.execute("CREATE INDEX idx_sample_device_point_ts ON device_sample (device_id, point_id, ts)");
+        jdbcTemplate.execute("ALTER TABLE device_sample ATTACH PARTITION " + SAMPLE_LEGACY_TABLE
+                + " FOR VALUES FROM (MINVALUE) TO ('" + literal(cutover) + "')");
+    }
+
+    // 기존 데이터 파티션 상한: 최신 데이터(또는 현재) 구간의 끝
+    private ZonedDateTime cutover(OffsetDateTime maxTimestamp) {
+        ZonedDateTime now = ZonedDateTime.now(zone);
+        ZonedDateTime latest = (maxTimestamp != null && maxTimestamp.atZoneSameInstant(zone).isAfter(now))
+                ? maxTimestamp.atZoneSameInstant(zone) : now;
+        return interval.next(interval.start(latest));
+    }
+
+    // 파티션 테이블의 PK는 파티션 키를 포함해야 함
+    private void createParentConstraints() {
+        jdbcTemplate.execute("ALTER TABLE device_history ADD CONSTRAINT device_history_pkey PRIMARY KEY (id, timestamp)");
+        jdbcTemplate.execute("CREATE INDEX idx_device_timestamp ON device_history (device_id, timestamp)");
+        jdbcTemplate.execute("CREATE INDEX idx_timestamp ON device_history (timestamp)");
+    }
+
+    private void createFuturePartitions(String table) {
+        List<Partition> partitions = listPartitions(table);
+        ZonedDateTime start = interval.start(ZonedDateTime.now(zone));
+        for (int i = 0; i <= precreate; i++) {
+            ZonedDateTime end = interval.next(start);
+            if (!overlaps(partitions, start, end)) {
+                String name = table + "_p" + interval.suffix(start);
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + table + " "
+                        + "FOR VALUES FROM ('" + literal(start) + "') TO ('" + literal(end) + "')");
+                log.info("{} 파티션 생성: {} [{}, {})", table, name, start, end);
+            }
+            start = end;
+        }
+    }
+
+    private void enforceRetention(String table) {
+        OffsetDateTime cutoff = OffsetDateTime.now(zone).minus(retention);
+        for (Partition partition : listPartitions(table)) {
+            if (partition.upper() == null || partition.upper().isAfter(cutoff)) continue;
+            if (retentionAction == RetentionAction.DETACH) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition.name());
+            } else {
+                jdbcTemplate.execute("DROP TABLE " + partition.name());
+            }
+            log.info("{} 보존 기간 경과 파티션 {}: {} (~ {})",
+                    table, retentionAction, partition.name(), partition.upper());
+        }
+    }
+
+    private List<Partition> listPartitions(String table) {
+        return jdbcTemplate.query(LIST_PARTITIONS_SQL, (rs, rowNum) -> new Partition(
+                rs.getString("name"),
+                rs.getObject("lower_bound", OffsetDateTime.class),
+                rs.getObject("upper_bound", OffsetDateTime.class)), table);
+    }
+
+    // bound가 null이면 MINVALUE/MAXVALUE
+    private static boolean overlaps(List<Partition> partitions, ZonedDateTime start, ZonedDateTime end) {
+        for (Partition p : partitions) {
+            boolean startsBeforeEnd = p.lower() == null || p.lower().toInstant().isBefore(end.toInstant());
+            boolean endsAfterStart = p.upper() == null || p.upper().toInstant().isAfter(start.toInstant());
+            if (startsBeforeEnd && endsAfterStart) return true;
+        }
+        return false;
+    }
+
+    private static String literal(ZonedDateTime time) {
+        return time.toOffsetDateTime().format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (!enabled) {
+            transactionTemplate.executeWithoutResult(status -> {
+                lock();
+                ensureSampleTable(false);
+            });
+            log.info("===== device_history 파티션 관리 비활성 =====");
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            lock();
+            ensurePartitioned();
+            ensureSampleTable(true);
+        });
+        maintain();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 1;
+    }
+
+    private record Partition(String name, OffsetDateTime lower, OffsetDateTime upper) {
+    }
+
+    /**
+     * 파티션 구간 단위
+     */
+    public enum Interval {
+        DAILY {
+            ZonedDateTime start(ZonedDateTime time) {
+                return time.toLocalDate().atStartOfDay(time.getZone());
+            }
+
+            ZonedDateTime next(ZonedDateTime start) {
+                return start.toLocalDate().plusDays(1).atStartOfDay(start.getZone());
+            }
+
+            String suffix(ZonedDateTime start) {
+                return start.format(DateTimeFormatter.BASIC_ISO_DATE);
+            }
+        },
+        MONTHLY {
+            ZonedDateTime start(ZonedDateTime time) {
+                return time.toLocalDate().withDayOfMonth(1).atStartOfDay(time.getZone());
+            }
+
+            ZonedDateTime next(ZonedDateTime start) {
+                LocalDate first = start.toLocalDate().withDayOfMonth(1).plusMonths(1);
+                return first.atStartOfDay(start.getZone());
+            }
+
+            String suffix(ZonedDateTime start) {
+                return start.format(DateTimeFormatter.ofPattern("yyyyMM"));
+            }
+        };
+
+        abstract ZonedDateTime start(ZonedDateTime time);
+
+        abstract ZonedDateTime next(ZonedDateTime start);
+
+        abstract String suffix(ZonedDateTime start);
+    }
+
+    public enum RetentionAction {
+        DROP, DETACH
+    }
+}
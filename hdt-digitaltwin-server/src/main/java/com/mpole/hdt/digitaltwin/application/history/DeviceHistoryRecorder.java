@@ -0,0 +1,162 @@
+package com.mpole.hdt.digitaltwin.application.history;
+
+import com.mpole.hdt.digitaltwin.application.history.recent.RecentHistoryBuffer;
+import com.mpole.hdt.digitaltwin.application.repository.DeviceRepository;
+import com.mpole.hdt.digitaltwin.application.repository.entity.Device;
+import com.mpole.hdt.digitaltwin.application.state.AssetSnapshot;
+import com.mpole.hdt.digitaltwin.application.state.DigitalTwinLiveStateService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * live-state 변경 → device_history 샘플 변환 후 DeviceHistoryWriter에 적재, 최근 이력 버퍼(RecentHistoryBuffer)에 기록
+ * - assetId = devices.device_code, 등록되지 않은 자산(Mock 등)은 기록하지 않음
+ * - deviceCode → devices.id 캐시: 기동 시 전체 적재, 장비 생성/코드 변경/삭제 시 DeviceService가 커밋 후 갱신
+ * - 리스너는 live-state compute 안에서 호출되므로 DB 조회 없음: 캐시에 없는 코드는 별도 스레드에서 조회하고
+ *   그 사이 샘플은 버림 (미등록 코드는 5분간 재조회 안 함)
+ */
+@Slf4j
+@Component
+public class DeviceHistoryRecorder {
+
+    private static final long UNKNOWN_RETRY_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final DeviceRepository deviceRepository;
+    private final DeviceHistoryWriter writer;
+    private final RecentHistoryBuffer recentBuffer;
+
+    private final Map<String, Long> deviceIds = new ConcurrentHashMap<>();
+    private final Map<String, Long> unknownUntil = new ConcurrentHashMap<>();
+    private final Set<String> resolving = ConcurrentHashMap.newKeySet();
+    private final ExecutorService resolver = Executors.newSingleThreadExecutor(
+            r -> Thread.ofPlatform().name("device-history-resolver").daemon().unstarted(r));
+
+    public DeviceHistoryRecorder(DigitalTwinLiveStateService liveState, DeviceRepository deviceRepository,
+                                 DeviceHistoryWriter writer, RecentHistoryBuffer recentBuffer) {
+        this.deviceRepository = deviceRepository;
+        this.writer = writer;
+        this.recentBuffer = recentBuffer;
+        liveState.addChangeListener(change -> record(change.current()));
+    }
+
+    /**
+     * 전체 장비 코드 적재 (기동 완료 후, 리스너 스레드와 무관하게 조회 스레드에서)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        resolver.execute(() -> {
+            try {
+                deviceRepository.findAllCodeIds().forEach(d -> deviceIds.put(d.getDeviceCode(), d.getId()));
+                log.info("===== 이력 기록 장비 캐시 적재: {} 건 =====", deviceIds.size());
+            } catch (RuntimeException e) {
+                log.error("이력 기록 장비 캐시 적재 실패 (장비별 조회로 대체)", e);
+            }
+        });
+    }
+
+    /**
+     * 장비 생성/코드 변경 반영 (커밋 후 호출)
+     */
+    public void deviceRegistered(String deviceCode, long deviceId) {
+        deviceIds.values().remove(deviceId);
+        deviceIds.put(deviceCode, deviceId);
+        unknownUntil.remove(deviceCode);
+    }
+
+    /**
+     * 장비 삭제 반영 (커밋 후 호출)
+     */
+    public void deviceRemoved(String deviceCode) {
+        deviceIds.remove(deviceCode);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        resolver.shutdownNow();
+    }
+
+    private void record(AssetSnapshot snapshot) {
+        Long deviceId = resolveDeviceId(snapshot.assetId());
+        if (deviceId == null) return;
+
+        OffsetDateTime timestamp = (snapshot.lastUpdated() != null)
+                ? snapshot.lastUpdated().atZone(ZoneId.systemDefault()).toOffsetDateTime()
+                : OffsetDateTime.now();
+        HistorySample sample = new HistorySample(deviceId, timestamp, snapshot.equipmentStatus(),
+                snapshot.isOperating(), values(snapshot), null, null, null, HistorySample.QUALITY_GOOD);
+        writer.submit(sample);
+        recentBuffer.record(sample);
+    }
+
+    private static Map<String, Object> values(AssetSnapshot s) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        putIfPresent(values, "temperature", s.temperature());
+        putIfPresent(values, "humidity", s.humidity());
+        putIfPresent(values, "power", s.power());
+        putIfPresent(values, "voltage", s.voltage());
+        putIfPresent(values, "current", s.current());
+        putIfPresent(values, "efficiency", s.efficiency());
+        putIfPresent(values, "operatingTime", s.operatingTime());
+        return values;
+    }
+
+    private static void putIfPresent(Map<String, Object> values, String key, Object value) {
+        if (value != null) values.put(key, value);
+    }
+
+    /**
+     * 캐시된 devices.id (DB 조회 없음, 아직 기록된 적 없는 장비는 empty)
+     */
+    public Optional<Long> cachedDeviceId(String deviceCode) {
+        return Optional.ofNullable(deviceIds.get(deviceCode));
+    }
+
+    // 캐시에 없으면 조회 스레드에 맡기고 null (코드당 조회 1건만 진행)
+    private Long resolveDeviceId(String deviceCode) {
+        Long id = deviceIds.get(deviceCode);
+        if (id != null) return id;
+
+        Long retryAt = unknownUntil.get(deviceCode);
+        if (retryAt != null && System.nanoTime() - retryAt < 0) return null;
+
+        if (resolving.add(deviceCode)) {
+            try {
+                resolver.execute(() -> lookup(deviceCode));
+            } catch (RejectedExecutionException e) {
+                resolving.remove(deviceCode);
+            }
+        }
+        return null;
+    }
+
+    private void lookup(String deviceCode) {
+        try {
+            Long found = deviceRepository.findByDeviceCode(deviceCode).map(Device::getId).orElse(null);
+            if (found == null) {
+                unknownUntil.put(deviceCode, System.nanoTime() + UNKNOWN_RETRY_NANOS);
+            } else {
+                unknownUntil.remove(deviceCode);
+                deviceIds.putIfAbsent(deviceCode, found);
+            }
+        } catch (RuntimeException e) {
+            log.warn("이력 기록 장비 조회 실패: {}", deviceCode, e);
+        } finally {
+            resolving.remove(deviceCode);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.mpole.hdt.digitaltwin.application.history;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * device_history 집계 테이블 (1분/1시간/1일)
+ * - 장비 × 측정값 키 × 구간별 min/max/sum/count/last
+ * - DeviceHistoryWriter가 배치 적재와 같은 트랜잭션에서 apply() 호출 → 배치 안에서 먼저 합산 후 upsert
+ * - 보존 기간이 지난 집계는 유지보수 주기에 삭제 (1일 집계는 기본 무기한)
+ */
+@Slf4j
+@Component
+public class DeviceHistoryRollup implements SmartLifecycle {
+
+    private static final RollupResolution[] ROLLUPS = {
+            RollupResolution.MINUTE, RollupResolution.HOUR, RollupResolution.DAY
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<RollupResolution, Duration> retention;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private volatile boolean running = false;
+
+    public DeviceHistoryRollup(
+            JdbcTemplate jdbcTemplate,
+            @Value("${hdt.history.rollup.retention-1m:30d}") Duration retentionMinute,
+            @Value("${hdt.history.rollup.retention-1h:365d}") Duration retentionHour,
+            @Value("${hdt.history.rollup.retention-1d:0}") Duration retentionDay
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retention = Map.of(
+                RollupResolution.MINUTE, retentionMinute,
+                RollupResolution.HOUR, retentionHour,
+                RollupResolution.DAY, retentionDay);
+    }
+
+    /**
+     * 해상도별 보존 기간 (0: 무기한)
+     */
+    public Duration retention(RollupResolution resolution) {
+        return retention.get(resolution);
+    }
+
+    /**
+     * 샘플 배치를 집계 테이블에 반영 (숫자 값만)
+     */
+    public void apply(List<HistorySample> samples) {
+        for (RollupResolution resolution : ROLLUPS) {
+            Map<BucketKey, Aggregate> buckets = new HashMap<>();
+            for (HistorySample sample : samples) {
+                if (sample.values() == null) continue;
+                ZonedDateTime bucket = resolution.bucket(sample.timestamp().atZoneSameInstant(zone));
+                for (Map.Entry<String, Object> entry : sample.values().entrySet()) {
+                    if (!(entry.getValue() instanceof Number number)) continue;
+                    buckets.computeIfAbsent(
+                                    new BucketKey(sample.deviceId(), entry.getKey(), bucket.toOffsetDateTime()),
+                                    k -> new Aggregate())
+                            .add(number.doubleValue(), sample.timestamp());
+                }
+            }
+            if (!buckets.isEmpty()) upsert(resolution, buckets);
+        }
+    }
+
+    private void upsert(RollupResolution resolution, Map<BucketKey, Aggregate> buckets) {
+        String sql = "INSERT INTO " + resolution.table() + " AS r "
+                + "(device_id, point_key, bucket, min_value, max_value, sum_value, sample_count, last_value, last_ts) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) "
+                + "ON CONFLICT (device_id, point_key, bucket) DO UPDATE SET "
+                + "min_value = least(r.min_value, excluded.min_value), "
+                + "max_value = greatest(r.max_value, excluded.max_value), "
+                + "sum_value = r.sum_value + excluded.sum_value, "
+                + "sample_count = r.sample_count + excluded.sample_count, "
+                + "last_value = CASE WHEN excluded.last_ts >= r.last_ts THEN excluded.last_value ELSE r.last_value END, "
+                + "last_ts = greatest(r.last_ts, excluded.last_ts)";
+        List<Map.Entry<BucketKey, Aggregate>> rows = new ArrayList<>(buckets.entrySet());
+        jdbcTemplate.batchUpdate(sql, rows, rows.size(), (ps, row) -> {
+            BucketKey key = row.getKey();
+            Aggregate agg = row.getValue();
+            ps.setLong(1, key.deviceId());
+            ps.setString(2, key.pointKey());
+            ps.setTimestamp(3, Timestamp.from(key.bucket().toInstant()));
+            ps.setDouble(4, agg.min);
+            ps.setDouble(5, agg.max);
+            ps.setDouble(6, agg.sum);
+            ps.setLong(7, agg.count);
+            ps.setDouble(8, agg.last);
+            ps.setTimestamp(9, Timestamp.from(agg.lastTs.toInstant()));
+        });
+    }
+
+    /**
+     * 구간 집계 조회 [from, to), 키 → 시간순 목록
+     * @param pointKeys null/empty면 전체 키
+     */
+    public Map<String, List<RollupPoint>> query(RollupResolution resolution, long deviceId,
+                                                OffsetDateTime from, OffsetDateTime to, List<String> pointKeys) {
+        ZonedDateTime start = resolution.bucket(from.atZoneSameInstant(zone));
+        StringBuilder sql = new StringBuilder("SELECT point_key, bucket, min_value, max_value, sum_value, "
+                + "sample_count, last_value FROM " + resolution.table()
+                + " WHERE device_id = ? AND bucket >= ? AND bucket < ?");
+        List<Object> args = new ArrayList<>(List.of(deviceId,
+                Timestamp.from(start.toInstant()), Timestamp.from(to.toInstant())));
+        if (pointKeys != null && !pointKeys.isEmpty()) {
+            sql.append(" AND point_key = ANY (?)");
+            args.add(pointKeys.toArray(String[]::new));
+        }
+        sql.append(" ORDER BY point_key, bucket");
+
+        Map<String, List<RollupPoint>> series = new HashMap<>();
+        jdbcTemplate.query(sql.toString(), rs -> {
+            long count = rs.getLong("sample_count");
+            series.computeIfAbsent(rs.getString("point_key"), k -> new ArrayList<>())
+                    .add(new RollupPoint(
+                            rs.getObject("bucket", OffsetDateTime.class),
+                            rs.getDouble("min_value"),
+                            rs.getDouble("max_value"),
+                            count > 0 ? rs.getDouble("sum_value") / count : 0.0,
+                            rs.getDouble("last_value"),
+                            count));
+        }, args.toArray());
+        return series;
+    }
+
+    /**
+     * 보존 기간 경과 집계 삭제 (0: 무기한)
+     */
+    @Scheduled(cron = "${hdt.history.partition.maintenance-cron:0 10 0 * * *}")
+    public void enforceRetention() {
+        for (RollupResolution resolution : ROLLUPS) {
+            Duration keep = retention.get(resolution);
+            if (keep.isZero()) continue;
+            try {
+                int deleted = jdbcTemplate.update("DELETE FROM " + resolution.table() + " WHERE bucket < ?",
+                        Timestamp.from(OffsetDateTime.now(zone).minus(keep).toInstant()));
+                if (deleted > 0) log.info("{} 보존 기간 경과 {} 건 삭제", resolution.table(), deleted);
+            } catch (RuntimeException e) {
+                log.error("{} 보존 기간 정리 실패", resolution.table(), e);
+            }
+        }
+    }
+
+    private void createTables() {
+        for (RollupResolution resolution : ROLLUPS) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + resolution.table() + " ("
+                    + "device_id bigint NOT NULL, "
+                    + "point_key varchar(100) NOT NULL, "
+                    + "bucket timestamp(6) with time zone NOT NULL, "
+                    + "min_value double precision NOT NULL, "
+                    + "max_value double precision NOT NULL, "
+                    + "sum_value double precision NOT NULL, "
+                    + "sample_count bigint NOT NULL, "
+                    + "last_value double precision NOT NULL, "
+                    + "last_ts timestamp(6) with time zone NOT NULL, "
+                    + "PRIMARY KEY (device_id, point_key, bucket))");
+        }
+    }
+
+    @Override
+    public void start() {
+        createTables();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // DeviceHistoryWriter보다 먼저 테이블 준비
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 1;
+    }
+
+    /**
+     * 구간 집계 1건 (avg = sum / count)
+     */
+    public record RollupPoint(OffsetDateTime bucket, double min, double max, double avg, double last, long count) {
+    }
+
+    private record BucketKey(long deviceId, String pointKey, OffsetDateTime bucket) {
+    }
+
+    private static final class Aggregate {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double sum;
+        long count;
+        double last;
+        OffsetDateTime lastTs;
+
+        void add(double value, OffsetDateTime ts) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            sum += value;
+            count++;
+            if (lastTs == null || !ts.isBefore(lastTs)) {
+                last = value;
+                lastTs = ts;
+            }
+        }
+    }
+}
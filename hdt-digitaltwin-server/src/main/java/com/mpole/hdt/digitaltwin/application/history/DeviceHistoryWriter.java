@@ -0,0 +1,271 @@
+package com.mpole.hdt.digitaltwin.application.history;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * device_history 비동기 배치 적재
+ * - submit(): bounded 큐에 적재만 하고 즉시 반환 (큐 포화 시 폐기, 호출 스레드 블로킹 없음)
+ * - 전용 스레드가 batchSize 건 또는 flushInterval 경과 시 JDBC batch insert 1회
+ * - ID는 device_history_seq 시퀀스 (IDENTITY는 배치 insert 불가)
+ * - values 는 PostgreSQL 예약어이므로 인용
+ * - 종료 시 신규 적재 중단 후 남은 샘플 소진 (shutdownTimeout 까지)
+ * - 숫자 측정값은 device_sample(DeviceSampleStore), device_history.values에는 숫자 외 값만 JSON으로 저장
+ * - 원본 insert와 집계(DeviceHistoryRollup) 반영은 같은 트랜잭션
+ * - 적재 실패 시 같은 배치를 지수 백오프로 재시도 (그동안 신규 샘플은 큐에 쌓이고 포화분만 폐기)
+ * - 데이터 무결성 오류는 재시도해도 같은 결과이므로 해당 배치만 실패 처리
+ */
+@Slf4j
+@Component
+public class DeviceHistoryWriter implements SmartLifecycle {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO device_history
+                (id, device_id, timestamp, operation_status, is_running, "values", has_alarm, alarms, metadata)
+            VALUES (nextval('device_history_seq'), ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DeviceSampleStore sampleStore;
+    private final DeviceHistoryRollup rollup;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration shutdownTimeout;
+    private final Duration retryBackoff;
+    private final Duration retryMaxBackoff;
+
+    private final ArrayBlockingQueue<HistorySample> queue;
+    private volatile boolean running = false;
+    private Thread worker;
+
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer flushTimer;
+
+    public DeviceHistoryWriter(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            DeviceSampleStore sampleStore,
+            DeviceHistoryRollup rollup,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${hdt.history.writer.enabled:true}") boolean enabled,
+            @Value("${hdt.history.writer.queue-capacity:100000}") int queueCapacity,
+            @Value("${hdt.history.writer.batch-size:500}") int batchSize,
+            @Value("${hdt.history.writer.flush-interval:1s}") Duration flushInterval,
+            @Value("${hdt.history.writer.shutdown-timeout:10s}") Duration shutdownTimeout,
+            @Value("${hdt.history.writer.retry-backoff:500ms}") Duration retryBackoff,
+            @Value("${hdt.history.writer.retry-max-backoff:30s}") Duration retryMaxBackoff
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sampleStore = sampleStore;
+        this.rollup = rollup;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.shutdownTimeout = shutdownTimeout;
+        this.retryBackoff = retryBackoff;
+        this.retryMaxBackoff = retryMaxBackoff;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("hdt.history.queue", queue, ArrayBlockingQueue::size)
+                .description("적재 대기 이력 샘플 수")
+                .register(meterRegistry);
+        this.written = sampleCounter(meterRegistry, "written");
+        this.dropped = sampleCounter(meterRegistry, "dropped");
+        this.retried = sampleCounter(meterRegistry, "retried");
+        this.failed = sampleCounter(meterRegistry, "failed");
+        this.flushTimer = Timer.builder("hdt.history.flush")
+                .description("배치 insert 1회 소요 시간")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 이력 샘플 적재 요청
+     * @return false: 비활성/종료 중/큐 포화로 폐기
+     */
+    public boolean submit(HistorySample sample) {
+        if (!running) return false;
+        if (queue.offer(sample)) return true;
+        dropped.increment();
+        return false;
+    }
+
+    private void writeLoop() {
+        List<HistorySample> batch = new ArrayList<>(batchSize);
+        long flushIntervalNanos = flushInterval.toNanos();
+        while (running || !queue.isEmpty()) {
+            try {
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                // batchSize 건이 모이거나 flushInterval 경과까지 수집
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) break;
+                    HistorySample sample = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (sample == null) break;
+                    batch.add(sample);
+                    queue.drainTo(batch, batchSize - batch.size());
+                    if (!running) break;
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        try {
+            flush(batch);
+        } catch (InterruptedException e) {
+            log.warn("device_history 종료 중 재시도 중단, 미적재 {} 건", batch.size());
+        }
+    }
+
+    /**
+     * 배치 적재, 실패 시 성공할 때까지 백오프 재시도 (적재 후 batch 비움)
+     * 재시도 동안 워커가 큐를 비우지 않으므로 메모리는 큐 용량 + batchSize 로 제한
+     */
+    private void flush(List<HistorySample> batch) throws InterruptedException {
+        if (batch.isEmpty()) return;
+        long backoffMillis = retryBackoff.toMillis();
+        while (true) {
+            try {
+                write(batch);
+                written.increment(batch.size());
+                batch.clear();
+                return;
+            } catch (DataIntegrityViolationException e) {
+                failed.increment(batch.size());
+                log.error("device_history 배치 데이터 오류로 적재 실패: {} 건", batch.size(), e);
+                batch.clear();
+                return;
+            } catch (RuntimeException e) {
+                retried.increment(batch.size());
+                log.warn("device_history 배치 적재 실패, {}ms 후 재시도: {} 건 (대기 {} 건) - {}",
+                        backoffMillis, batch.size(), queue.size(), e.toString());
+                Thread.sleep(backoffMillis);
+                backoffMillis = Math.min(backoffMillis * 2, retryMaxBackoff.toMillis());
+            }
+        }
+    }
+
+    private void write(List<HistorySample> batch) {
+        Timer.Sample sample = Timer.start();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), this::bind);
+                sampleStore.insert(batch);
+                rollup.apply(batch);
+            });
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    private void bind(PreparedStatement ps, HistorySample sample) throws SQLException {
+        ps.setLong(1, sample.deviceId());
+        ps.setTimestamp(2, Timestamp.from(sample.timestamp().toInstant()));
+        ps.setString(3, sample.operationStatus());
+        setBoolean(ps, 4, sample.isRunning());
+        ps.setString(5, toJson(nonNumeric(sample.values())));
+        setBoolean(ps, 6, sample.hasAlarm());
+        ps.setString(7, toJson(sample.alarms()));
+        ps.setString(8, toJson(sample.metadata()));
+    }
+
+    // 숫자 값은 device_sample에 저장되므로 JSON에는 나머지만 (없으면 null)
+    private static Map<String, Object> nonNumeric(Map<String, Object> values) {
+        if (values == null) return null;
+        Map<String, Object> extras = null;
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            if (entry.getValue() instanceof Number) continue;
+            if (extras == null) extras = new LinkedHashMap<>();
+            extras.put(entry.getKey(), entry.getValue());
+        }
+        return extras;
+    }
+
+    private static void setBoolean(PreparedStatement ps, int index, Boolean value) throws SQLException {
+        if (value == null) ps.setNull(index, Types.BOOLEAN);
+        else ps.setBoolean(index, value);
+    }
+
+    private String toJson(Map<String, Object> map) {
+        if (map == null) return null;
+        try {
+            return objectMapper.writeValueAsString(map);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("device_history JSON 변환 실패", e);
+        }
+    }
+
+    private static Counter sampleCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("hdt.history.samples").tag("outcome", outcome).register(registry);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            log.info("===== device_history 적재 비활성 =====");
+            return;
+        }
+        running = true;
+        worker = Thread.ofPlatform().name("history-writer").start(this::writeLoop);
+        log.info("===== device_history 배치 적재 시작 (batchSize={}, flushInterval={}ms) =====",
+                batchSize, flushInterval.toMillis());
+    }
+
+    /**
+     * 신규 적재 중단 후 남은 샘플 소진
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (worker == null) return;
+        try {
+            worker.join(shutdownTimeout.toMillis());
+            if (worker.isAlive()) {
+                log.warn("device_history 종료 대기 초과, 미적재 {} 건", queue.size());
+                worker.interrupt();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("===== device_history 적재 종료 (remaining={}) =====", queue.size());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
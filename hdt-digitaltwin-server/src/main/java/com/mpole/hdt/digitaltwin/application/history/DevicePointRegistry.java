@@ -0,0 +1,87 @@
+package com.mpole.hdt.digitaltwin.application.history;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 측정 포인트 키 ↔ point_id (device_points) 캐시
+ * 처음 보는 키는 별도 트랜잭션으로 즉시 등록 (적재 배치가 롤백돼도 사전은 유지, 동시 등록은 ON CONFLICT로 흡수)
+ */
+@Component
+public class DevicePointRegistry {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate registerTransaction;
+    private final Map<String, Integer> idsByKey = new ConcurrentHashMap<>();
+    private final Map<Integer, String> keysById = new ConcurrentHashMap<>();
+
+    public DevicePointRegistry(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.registerTransaction = new TransactionTemplate(transactionManager);
+        this.registerTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 키 → point_id (없으면 등록)
+     */
+    public int resolve(String pointKey) {
+        Integer id = idsByKey.get(pointKey);
+        if (id != null) return id;
+
+        id = registerTransaction.execute(status -> {
+            jdbcTemplate.update("INSERT INTO device_points (point_key) VALUES (?) ON CONFLICT (point_key) DO NOTHING",
+                    pointKey);
+            return jdbcTemplate.queryForObject("SELECT id FROM device_points WHERE point_key = ?",
+                    Integer.class, pointKey);
+        });
+        cache(pointKey, id);
+        return id;
+    }
+
+    /**
+     * point_id → 키 (캐시에 없으면 해당 id만 조회)
+     */
+    public String keyOf(int pointId) {
+        String key = keysById.get(pointId);
+        if (key != null) return key;
+        jdbcTemplate.query("SELECT id, point_key FROM device_points WHERE id = ?", this::cacheRow, pointId);
+        return keysById.getOrDefault(pointId, String.valueOf(pointId));
+    }
+
+    /**
+     * 등록된 키만 point_id로 변환 (미등록 키는 데이터가 없으므로 제외)
+     * 캐시에 없는 키만 조회 (다른 노드/재기동 전에 등록된 키)
+     */
+    public List<Integer> idsOf(List<String> pointKeys) {
+        String[] missing = pointKeys.stream().filter(key -> !idsByKey.containsKey(key)).distinct().toArray(String[]::new);
+        if (missing.length > 0) {
+            jdbcTemplate.query("SELECT id, point_key FROM device_points WHERE point_key = ANY(?)", this::cacheRow,
+                    (Object) missing);
+        }
+        List<Integer> ids = new ArrayList<>(pointKeys.size());
+        for (String key : pointKeys) {
+            Integer id = idsByKey.get(key);
+            if (id != null) ids.add(id);
+        }
+        return ids;
+    }
+
+    private void cacheRow(ResultSet rs) throws SQLException {
+        cache(rs.getString("point_key"), rs.getInt("id"));
+    }
+
+    private void cache(String pointKey, int id) {
+        idsByKey.put(pointKey, id);
+        keysById.put(id, pointKey);
+    }
+}
@@ -0,0 +1,89 @@
+package com.mpole.hdt.digitaltwin.application.history;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 숫자 측정값 narrow 테이블 (device_sample: device_id, point_id, ts, value, quality)
+ * - JSON 직렬화/파싱 없이 double 그대로 저장
+ * - ts 기준 파티션 (DeviceHistoryPartitionManager), 조회는 (device_id, point_id, ts) 인덱스
+ */
+@Component
+public class DeviceSampleStore {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO device_sample (device_id, point_id, ts, value, quality) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DevicePointRegistry pointRegistry;
+
+    public DeviceSampleStore(JdbcTemplate jdbcTemplate, DevicePointRegistry pointRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pointRegistry = pointRegistry;
+    }
+
+    /**
+     * 샘플 배치의 숫자 값을 행 단위로 적재 (숫자가 아닌 값은 device_history.values에 남음)
+     */
+    public void insert(List<HistorySample> samples) {
+        List<Row> rows = new ArrayList<>(samples.size() * 8);
+        for (HistorySample sample : samples) {
+            if (sample.values() == null) continue;
+            Timestamp ts = Timestamp.from(sample.timestamp().toInstant());
+            for (Map.Entry<String, Object> entry : sample.values().entrySet()) {
+                if (entry.getValue() instanceof Number number) {
+                    rows.add(new Row(sample.deviceId(), pointRegistry.resolve(entry.getKey()), ts,
+                            number.doubleValue(), sample.quality()));
+                }
+            }
+        }
+        if (rows.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.deviceId());
+            ps.setInt(2, row.pointId());
+            ps.setTimestamp(3, row.ts());
+            ps.setDouble(4, row.value());
+            ps.setShort(5, row.quality());
+        });
+    }
+
+    /**
+     * 구간 조회 [from, to), 키 → 시간순 목록
+     * @param pointKeys null/empty면 전체 포인트
+     */
+    public Map<String, List<Sample>> query(long deviceId, OffsetDateTime from, OffsetDateTime to,
+                                           List<String> pointKeys) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT point_id, ts, value, quality FROM device_sample WHERE device_id = ? AND ts >= ? AND ts < ?");
+        List<Object> args = new ArrayList<>(List.of(deviceId,
+                Timestamp.from(from.toInstant()), Timestamp.from(to.toInstant())));
+        if (pointKeys != null && !pointKeys.isEmpty()) {
+            List<Integer> pointIds = pointRegistry.idsOf(pointKeys);
+            if (pointIds.isEmpty()) return Map.of();
+            sql.append(" AND point_id = ANY (?)");
+            args.add(pointIds.toArray(Integer[]::new));
+        }
+        sql.append(" ORDER BY point_id, ts");
+
+        Map<String, List<Sample>> series = new TreeMap<>();
+        jdbcTemplate.query(sql.toString(), rs -> {
+            series.computeIfAbsent(pointRegistry.keyOf(rs.getInt("point_id")), k -> new ArrayList<>())
+                    .add(new Sample(rs.getObject("ts", OffsetDateTime.class), rs.getDouble("value"),
+                            rs.getShort("quality")));
+        }, args.toArray());
+        return series;
+    }
+
+    public record Sample(OffsetDateTime timestamp, double value, short quality) {
+    }
+
+    private record Row(long deviceId, int pointId, Timestamp ts, double value, short quality) {
+    }
+}
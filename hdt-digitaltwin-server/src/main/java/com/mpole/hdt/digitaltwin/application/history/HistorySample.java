@@ -0,0 +1,24 @@
+package com.mpole.hdt.digitaltwin.application.history;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+/**
+ * device_history 적재 대상 1건 (DeviceHistory 엔티티와 같은 컬럼)
+ * @param deviceId  devices.id
+ * @param values    측정값 (키 → 값), 숫자 값은 device_sample, 나머지는 device_history.values
+ * @param quality   측정 품질 (QUALITY_GOOD 외 값은 수집 측 정의)
+ */
+public record HistorySample(
+        long deviceId,
+        OffsetDateTime timestamp,
+        String operationStatus,
+        Boolean isRunning,
+        Map<String, Object> values,
+        Boolean hasAlarm,
+        Map<String, Object> alarms,
+        Map<String, Object> metadata,
+        short quality
+) {
+    public static final short QUALITY_GOOD = 0;
+}
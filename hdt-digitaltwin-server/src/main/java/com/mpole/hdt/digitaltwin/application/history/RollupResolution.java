@@ -0,0 +1,44 @@
+package com.mpole.hdt.digitaltwin.application.history;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 이력 조회 해상도 (RAW: device_history 원본, 나머지: 집계 테이블)
+ */
+public enum RollupResolution {
+    RAW(null, Duration.ZERO, null),
+    MINUTE("device_history_rollup_1m", Duration.ofMinutes(1), ChronoUnit.MINUTES),
+    HOUR("device_history_rollup_1h", Duration.ofHours(1), ChronoUnit.HOURS),
+    DAY("device_history_rollup_1d", Duration.ofDays(1), ChronoUnit.DAYS);
+
+    private final String table;
+    private final Duration step;
+    private final ChronoUnit unit;
+
+    RollupResolution(String table, Duration step, ChronoUnit unit) {
+        this.table = table;
+        this.step = step;
+        this.unit = unit;
+    }
+
+    public String table() {
+        return table;
+    }
+
+    public Duration step() {
+        return step;
+    }
+
+    /**
+     * 집계 구간 시작 시각 (일 단위는 서버 시간대 기준 자정)
+     */
+    public ZonedDateTime bucket(ZonedDateTime time) {
+        return time.truncatedTo(unit);
+    }
+
+    public boolean isRollup() {
+        return this != RAW;
+    }
+}
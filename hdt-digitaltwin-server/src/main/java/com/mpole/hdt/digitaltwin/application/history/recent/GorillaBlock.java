@@ -0,0 +1,209 @@
+package com.mpole.hdt.digitaltwin.application.history.recent;
+
+import java.util.Arrays;
+
+/**
+ * Gorilla 방식 시계열 압축 블록 (고정 크기 long[] 비트 스트림)
+ * - 첫 점: timestamp 64bit + value 64bit 원본
+ * - timestamp: 직전 delta와의 차(delta-of-delta)를 크기별 가변 비트로 ('0' | '10'+7 | '110'+9 | '1110'+12 | '1111'+64)
+ * - value: 직전 값과 XOR, 같으면 '0' / 직전 유효 비트 구간 재사용 '10' / 새 구간 '11'+leading 5bit+길이 6bit
+ * - timestamp는 단조 증가로 append (순서 보장은 호출 측), 공간이 부족하면 append가 false 반환
+ */
+public final class GorillaBlock {
+
+    // 한 점 최악 비트 수: timestamp(4 + 64) + value(2 + 5 + 6 + 64)
+    private static final int MAX_POINT_BITS = 145;
+    private static final int FIRST_POINT_BITS = 128;
+
+    private final long[] words;
+    private final long capacityBits;
+
+    private long bitPosition;
+    private int count;
+    private long firstTimestamp;
+    private long lastTimestamp;
+    private long lastDelta;
+    private long lastValueBits;
+    private int lastLeading = -1;
+    private int lastTrailing;
+
+    public GorillaBlock(int words) {
+        this.words = new long[words];
+        this.capacityBits = (long) words * Long.SIZE;
+    }
+
+    /**
+     * @return false: 블록 공간 부족 (새 블록에 기록해야 함)
+     */
+    public boolean append(long timestamp, double value) {
+        long valueBits = Double.doubleToRawLongBits(value);
+        if (count == 0) {
+            if (capacityBits < FIRST_POINT_BITS) return false;
+            write(timestamp, 64);
+            write(valueBits, 64);
+            firstTimestamp = timestamp;
+        } else {
+            if (capacityBits - bitPosition < MAX_POINT_BITS) return false;
+            long delta = timestamp - lastTimestamp;
+            writeDeltaOfDelta(delta - lastDelta);
+            writeValue(valueBits);
+            lastDelta = delta;
+        }
+        lastTimestamp = timestamp;
+        lastValueBits = valueBits;
+        count++;
+        return true;
+    }
+
+    /**
+     * [from, to) 구간 점을 시간순으로 전달 (epoch millis)
+     */
+    public void forEach(long from, long to, PointConsumer consumer) {
+        if (count == 0 || lastTimestamp < from || firstTimestamp >= to) return;
+
+        Reader reader = new Reader();
+        long timestamp = reader.read(64);
+        long valueBits = reader.read(64);
+        long delta = 0;
+        int leading = -1;
+        int trailing = 0;
+        if (timestamp >= from) consumer.accept(timestamp, Double.longBitsToDouble(valueBits));
+
+        for (int i = 1; i < count; i++) {
+            delta += reader.readDeltaOfDelta();
+            timestamp += delta;
+
+            if (reader.read(1) == 1) {
+                if (reader.read(1) == 1) {
+                    leading = (int) reader.read(5);
+                    int meaningful = (int) reader.read(6);
+                    if (meaningful == 0) meaningful = 64;
+                    trailing = 64 - leading - meaningful;
+                }
+                valueBits ^= reader.read(64 - leading - trailing) << trailing;
+            }
+
+            if (timestamp >= to) return;
+            if (timestamp >= from) consumer.accept(timestamp, Double.longBitsToDouble(valueBits));
+        }
+    }
+
+    /**
+     * 블록 재사용 (메모리 재할당 없음)
+     */
+    public void reset() {
+        Arrays.fill(words, 0L);
+        bitPosition = 0;
+        count = 0;
+        lastDelta = 0;
+        lastLeading = -1;
+        lastTrailing = 0;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public long firstTimestamp() {
+        return firstTimestamp;
+    }
+
+    public long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    public long usedBits() {
+        return bitPosition;
+    }
+
+    public int sizeBytes() {
+        return words.length * Long.BYTES;
+    }
+
+    private void writeDeltaOfDelta(long dod) {
+        if (dod == 0) {
+            write(0b0, 1);
+        } else if (dod >= -63 && dod <= 64) {
+            write(0b10, 2);
+            write(dod + 63, 7);
+        } else if (dod >= -255 && dod <= 256) {
+            write(0b110, 3);
+            write(dod + 255, 9);
+        } else if (dod >= -2047 && dod <= 2048) {
+            write(0b1110, 4);
+            write(dod + 2047, 12);
+        } else {
+            write(0b1111, 4);
+            write(dod, 64);
+        }
+    }
+
+    private void writeValue(long valueBits) {
+        long xor = valueBits ^ lastValueBits;
+        if (xor == 0) {
+            write(0b0, 1);
+            return;
+        }
+        // leading 0 개수는 5bit로 기록하므로 31로 제한
+        int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int trailing = Long.numberOfTrailingZeros(xor);
+        if (lastLeading >= 0 && leading >= lastLeading && trailing >= lastTrailing) {
+            write(0b10, 2);
+            write(xor >>> lastTrailing, 64 - lastLeading - lastTrailing);
+        } else {
+            int meaningful = 64 - leading - trailing;
+            write(0b11, 2);
+            write(leading, 5);
+            write(meaningful == 64 ? 0 : meaningful, 6);
+            write(xor >>> trailing, meaningful);
+            lastLeading = leading;
+            lastTrailing = trailing;
+        }
+    }
+
+    // 하위 n bit를 MSB 방향부터 채움
+    private void write(long value, int n) {
+        if (n < 64) value &= (1L << n) - 1;
+        int index = (int) (bitPosition >>> 6);
+        int free = 64 - (int) (bitPosition & 63);
+        if (n <= free) {
+            words[index] |= value << (free - n);
+        } else {
+            int spill = n - free;
+            words[index] |= value >>> spill;
+            words[index + 1] |= value << (64 - spill);
+        }
+        bitPosition += n;
+    }
+
+    private final class Reader {
+        private long position;
+
+        long read(int n) {
+            int index = (int) (position >>> 6);
+            int free = 64 - (int) (position & 63);
+            long result;
+            if (n <= free) {
+                result = words[index] >>> (free - n);
+            } else {
+                int spill = n - free;
+                result = (words[index] << spill) | (words[index + 1] >>> (64 - spill));
+            }
+            position += n;
+            return n < 64 ? result & ((1L << n) - 1) : result;
+        }
+
+        long readDeltaOfDelta() {
+            if (read(1) == 0) return 0;
+            if (read(1) == 0) return read(7) - 63;
+            if (read(1) == 0) return read(9) - 255;
+            if (read(1) == 0) return read(12) - 2047;
+            return read(64);
+        }
+    }
+
+    @FunctionalInterface
+    public interface PointConsumer {
+        void accept(long timestamp, double value);
+    }
+}
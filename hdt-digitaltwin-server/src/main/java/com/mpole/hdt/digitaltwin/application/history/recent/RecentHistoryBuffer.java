@@ -0,0 +1,278 @@
+package com.mpole.hdt.digitaltwin.application.history.recent;
+
+import com.mpole.hdt.digitaltwin.application.history.HistorySample;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 장비 × 측정값 키별 최근 이력 (프로세스 내 메모리)
+ * - 시리즈마다 GorillaBlock 고정 개수 ring, 가득 차면 가장 오래된 블록을 비워 재사용 → 메모리 상한 고정
+ *   (상한 = maxSeries × blocksPerSeries × blockSize)
+ * - 보관 구간은 값 변동폭에 따라 달라지므로 조회 측은 coverageStart() 이후만 메모리에서 읽고 이전 구간은 DB 조회
+ * - 직전 점보다 과거 시각 샘플은 버림 (블록 내 시간순 유지)
+ * - 시리즈 수 상한 도달 시 가장 오래 기록이 없던 시리즈를 비우고 새 시리즈 생성 (LRU)
+ * - idleTimeout 동안 기록이 없는 시리즈는 주기적으로 제거 (삭제/코드 변경된 장비 등)
+ */
+@Component
+public class RecentHistoryBuffer {
+
+    private final boolean enabled;
+    private final int blockWords;
+    private final int blocksPerSeries;
+    private final int maxSeries;
+    private final long idleTimeoutNanos;
+
+    private final Map<Long, Map<String, Series>> devices = new ConcurrentHashMap<>();
+    private final AtomicInteger seriesCount = new AtomicInteger();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+
+    private final Counter buffered;
+    private final Counter droppedOutOfOrder;
+    private final Counter droppedSeriesLimit;
+    private final Counter evictedLru;
+    private final Counter evictedIdle;
+
+    public RecentHistoryBuffer(
+            MeterRegistry meterRegistry,
+            @Value("${hdt.history.recent.enabled:true}") boolean enabled,
+            @Value("${hdt.history.recent.block-size:4KB}") DataSize blockSize,
+            @Value("${hdt.history.recent.blocks-per-series:12}") int blocksPerSeries,
+            @Value("${hdt.history.recent.max-series:1024}") int maxSeries,
+            @Value("${hdt.history.recent.idle-timeout:30m}") Duration idleTimeout
+    ) {
+        this.enabled = enabled;
+        this.blockWords = (int) Math.max(4, blockSize.toBytes() / Long.BYTES);
+        this.blocksPerSeries = Math.max(2, blocksPerSeries);
+        this.maxSeries = maxSeries;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+
+        Gauge.builder("hdt.history.recent.series", seriesCount, AtomicInteger::get)
+                .description("최근 이력 버퍼 시리즈 수")
+                .register(meterRegistry);
+        Gauge.builder("hdt.history.recent.bytes", allocatedBytes, AtomicLong::get)
+                .description("최근 이력 버퍼 할당 메모리")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.buffered = sampleCounter(meterRegistry, "buffered");
+        this.droppedOutOfOrder = sampleCounter(meterRegistry, "out_of_order");
+        this.droppedSeriesLimit = sampleCounter(meterRegistry, "series_limit");
+        this.evictedLru = evictionCounter(meterRegistry, "lru");
+        this.evictedIdle = evictionCounter(meterRegistry, "idle");
+    }
+
+    /**
+     * 샘플의 숫자 값 기록
+     */
+    public void record(HistorySample sample) {
+        if (!enabled || sample.values() == null) return;
+        long timestamp = sample.timestamp().toInstant().toEpochMilli();
+        Map<String, Series> deviceSeries = devices.computeIfAbsent(sample.deviceId(), id -> new ConcurrentHashMap<>());
+        for (Map.Entry<String, Object> entry : sample.values().entrySet()) {
+            if (!(entry.getValue() instanceof Number number)) continue;
+            Series series = seriesOf(deviceSeries, entry.getKey());
+            if (series == null) {
+                droppedSeriesLimit.increment();
+            } else if (series.append(timestamp, number.doubleValue())) {
+                buffered.increment();
+            } else {
+                droppedOutOfOrder.increment();
+            }
+        }
+    }
+
+    /**
+     * 메모리에서 빠짐없이 제공 가능한 시작 시각 (요청 키 시리즈들의 가장 오래된 점 중 가장 늦은 시각)
+     * @param pointKeys null/empty면 장비의 전체 시리즈
+     * @return 버퍼에 데이터가 없으면 empty
+     */
+    public Optional<Instant> coverageStart(long deviceId, List<String> pointKeys) {
+        long start = Long.MIN_VALUE;
+        boolean any = false;
+        for (Series series : select(deviceId, pointKeys).values()) {
+            long oldest = series.oldestTimestamp();
+            if (oldest == Long.MIN_VALUE) continue;
+            start = Math.max(start, oldest);
+            any = true;
+        }
+        return any ? Optional.of(Instant.ofEpochMilli(start)) : Optional.empty();
+    }
+
+    /**
+     * [from, to) 구간 조회 (epoch millis), 키 → 시간순 목록
+     */
+    public Map<String, List<Point>> query(long deviceId, long from, long to, List<String> pointKeys) {
+        Map<String, List<Point>> result = new TreeMap<>();
+        select(deviceId, pointKeys).forEach((key, series) -> {
+            List<Point> points = new ArrayList<>();
+            series.collect(from, to, (timestamp, value) -> points.add(new Point(timestamp, value)));
+            if (!points.isEmpty()) result.put(key, points);
+        });
+        return result;
+    }
+
+    private Map<String, Series> select(long deviceId, List<String> pointKeys) {
+        Map<String, Series> deviceSeries = devices.get(deviceId);
+        if (deviceSeries == null) return Map.of();
+        if (pointKeys == null || pointKeys.isEmpty()) return deviceSeries;
+        Map<String, Series> selected = new TreeMap<>();
+        for (String key : pointKeys) {
+            Series series = deviceSeries.get(key);
+            if (series != null) selected.put(key, series);
+        }
+        return selected;
+    }
+
+    /**
+     * idleTimeout 동안 기록이 없는 시리즈 제거
+     */
+    @Scheduled(fixedDelayString = "${hdt.history.recent.evict-interval:1m}")
+    public void evictIdle() {
+        if (!enabled) return;
+        long now = System.nanoTime();
+        devices.values().forEach(deviceSeries -> deviceSeries.forEach((key, series) -> {
+            if (now - series.lastAppendNanos > idleTimeoutNanos && release(deviceSeries, key, series)) {
+                evictedIdle.increment();
+            }
+        }));
+    }
+
+    // 시리즈 수는 슬롯 예약(CAS) 후 생성 → 동시 생성으로 상한을 넘지 않음
+    private Series seriesOf(Map<String, Series> deviceSeries, String pointKey) {
+        Series series = deviceSeries.get(pointKey);
+        if (series != null) return series;
+        if (!reserveSlot()) return null;
+        Series created = new Series();
+        Series existing = deviceSeries.putIfAbsent(pointKey, created);
+        if (existing != null) {
+            seriesCount.decrementAndGet();
+            return existing;
+        }
+        return created;
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int count = seriesCount.get();
+            if (count >= maxSeries) {
+                if (!evictLeastRecent()) return false;
+            } else if (seriesCount.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // 상한 도달 시에만 전체 시리즈 1회 순회
+    private boolean evictLeastRecent() {
+        Map<String, Series> victimDevice = null;
+        String victimKey = null;
+        Series victim = null;
+        for (Map<String, Series> deviceSeries : devices.values()) {
+            for (Map.Entry<String, Series> entry : deviceSeries.entrySet()) {
+                Series series = entry.getValue();
+                if (victim == null || series.lastAppendNanos - victim.lastAppendNanos < 0) {
+                    victimDevice = deviceSeries;
+                    victimKey = entry.getKey();
+                    victim = series;
+                }
+            }
+        }
+        if (victim == null) return false;
+        // 다른 스레드가 먼저 제거했어도 슬롯이 비었으므로 재시도
+        if (release(victimDevice, victimKey, victim)) evictedLru.increment();
+        return true;
+    }
+
+    private boolean release(Map<String, Series> deviceSeries, String key, Series series) {
+        if (!deviceSeries.remove(key, series)) return false;
+        seriesCount.decrementAndGet();
+        allocatedBytes.addAndGet(-series.retire());
+        return true;
+    }
+
+    private static Counter sampleCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("hdt.history.recent.samples").tag("outcome", outcome).register(registry);
+    }
+
+    private static Counter evictionCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("hdt.history.recent.evicted").tag("reason", reason).register(registry);
+    }
+
+    public record Point(long timestamp, double value) {
+    }
+
+    /**
+     * 블록 ring (head: 현재 기록 중인 블록)
+     */
+    private final class Series {
+        private final GorillaBlock[] ring = new GorillaBlock[blocksPerSeries];
+        private int head = -1;
+        private int size = 0;
+        private volatile long lastAppendNanos = System.nanoTime();
+        private boolean retired = false;
+
+        synchronized boolean append(long timestamp, double value) {
+            // 제거된 시리즈에는 더 이상 블록을 할당하지 않음 (제거 직전에 참조를 얻은 기록 스레드)
+            if (retired) return false;
+            lastAppendNanos = System.nanoTime();
+            if (head >= 0) {
+                GorillaBlock current = ring[head];
+                if (timestamp < current.lastTimestamp()) return false;
+                if (current.append(timestamp, value)) return true;
+            }
+            head = (head + 1) % ring.length;
+            if (ring[head] == null) {
+                ring[head] = new GorillaBlock(blockWords);
+                allocatedBytes.addAndGet(ring[head].sizeBytes());
+            } else {
+                ring[head].reset();
+            }
+            size = Math.min(size + 1, ring.length);
+            return ring[head].append(timestamp, value);
+        }
+
+        /**
+         * 제거 표시 후 할당했던 메모리 크기 반환
+         */
+        synchronized long retire() {
+            retired = true;
+            long bytes = 0;
+            for (GorillaBlock block : ring) {
+                if (block != null) bytes += block.sizeBytes();
+            }
+            return bytes;
+        }
+
+        synchronized long oldestTimestamp() {
+            if (size == 0) return Long.MIN_VALUE;
+            return ring[oldestIndex()].firstTimestamp();
+        }
+
+        synchronized void collect(long from, long to, GorillaBlock.PointConsumer consumer) {
+            for (int i = 0, index = oldestIndex(); i < size; i++, index = (index + 1) % ring.length) {
+                GorillaBlock block = ring[index];
+                if (block.firstTimestamp() >= to) return;
+                block.forEach(from, to, consumer);
+            }
+        }
+
+        private int oldestIndex() {
+            return Math.floorMod(head - size + 1, ring.length);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.mpole.hdt.digitaltwin.application.realtime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mpole.hdt.digitaltwin.infrastructure.websocket.Conflatable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 자산 1건의 tick 단위 변경 프레임 (/sub/digitaltwin/{assetId})
+ * @param seq       자산 채널별 순번 (1씩 증가, 건너뛰면 유실)
+ * @param ts        프레임 생성 시각 (epoch millis)
+ * @param fields    필드 ID → 최신 값 (tick 내 여러 번 바뀐 필드는 마지막 값만)
+ * @param conflated 전송 대기 중 병합된 이전 프레임 수 (0이면 생략, 그만큼 seq가 건너뜀)
+ */
+public record DeltaFrame(
+        long seq,
+        String assetId,
+        long ts,
+        Map<Integer, Object> fields,
+        @JsonInclude(JsonInclude.Include.NON_DEFAULT) int conflated
+) implements Conflatable<DeltaFrame> {
+
+    public DeltaFrame(long seq, String assetId, long ts, Map<Integer, Object> fields) {
+        this(seq, assetId, ts, fields, 0);
+    }
+
+    /**
+     * 대기 중인 이전 프레임(this)에 최신 프레임을 덮어쓴 병합 프레임 (필드별 최신 값)
+     */
+    @Override
+    public DeltaFrame conflate(DeltaFrame newer) {
+        Map<Integer, Object> merged = new HashMap<>(fields);
+        merged.putAll(newer.fields);
+        return new DeltaFrame(newer.seq, assetId, newer.ts, merged, conflated + newer.conflated + 1);
+    }
+}
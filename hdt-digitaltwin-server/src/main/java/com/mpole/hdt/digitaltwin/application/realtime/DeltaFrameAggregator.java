@@ -0,0 +1,101 @@
+package com.mpole.hdt.digitaltwin.application.realtime;
+
+import com.mpole.hdt.digitaltwin.application.state.AssetSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * 실시간 변경 사항을 tick 단위로 모아 프레임으로 변환
+ * - record(): 자산/필드별 최신 값만 보관 (같은 tick 내 중복 변경은 병합)
+ * - drain(): 자산별 DeltaFrame + 전체 GlobalDeltaFrame 생성 후 누적분 초기화
+ *           GlobalDeltaFrame은 VersionedChangeLog에 기록 (seq = 전역 버전)
+ */
+@Component
+@RequiredArgsConstructor
+public class DeltaFrameAggregator {
+
+    // 실시간 프레임 대상 필드 (FieldRegistry 기본 필드와 동일)
+    private static final Map<String, Function<AssetSnapshot, Object>> SNAPSHOT_FIELDS = new LinkedHashMap<>();
+
+    static {
+        SNAPSHOT_FIELDS.put("temperature", AssetSnapshot::temperature);
+        SNAPSHOT_FIELDS.put("humidity", AssetSnapshot::humidity);
+        SNAPSHOT_FIELDS.put("power", AssetSnapshot::power);
+        SNAPSHOT_FIELDS.put("voltage", AssetSnapshot::voltage);
+        SNAPSHOT_FIELDS.put("current", AssetSnapshot::current);
+        SNAPSHOT_FIELDS.put("efficiency", AssetSnapshot::efficiency);
+        SNAPSHOT_FIELDS.put("operatingTime", AssetSnapshot::operatingTime);
+        SNAPSHOT_FIELDS.put("isOperating", AssetSnapshot::isOperating);
+        SNAPSHOT_FIELDS.put("equipmentStatus", AssetSnapshot::equipmentStatus);
+    }
+
+    private final FieldRegistry fieldRegistry;
+    private final VersionedChangeLog changeLog;
+
+    private final Object lock = new Object();
+    private Map<String, Map<Integer, Object>> pending = new LinkedHashMap<>();
+    private final Map<String, Long> assetSeq = new HashMap<>();
+    private long globalSeq = 0;
+
+    /**
+     * 스냅샷 변경 전/후 비교하여 값이 바뀐 실시간 필드만 기록
+     * @param previous 변경 전 (신규 자산이면 null → 모든 필드 기록)
+     * @return 기록한 필드 수
+     */
+    public int record(AssetSnapshot previous, AssetSnapshot current) {
+        int recorded = 0;
+        for (Map.Entry<String, Function<AssetSnapshot, Object>> field : SNAPSHOT_FIELDS.entrySet()) {
+            Object value = field.getValue().apply(current);
+            if (previous == null || !Objects.equals(field.getValue().apply(previous), value)) {
+                record(current.assetId(), field.getKey(), value);
+                recorded++;
+            }
+        }
+        return recorded;
+    }
+
+    public void record(String assetId, String fieldName, Object value) {
+        int fieldId = fieldRegistry.idOf(fieldName);
+        synchronized (lock) {
+            pending.computeIfAbsent(assetId, k -> new LinkedHashMap<>()).put(fieldId, value);
+        }
+    }
+
+    /**
+     * 누적 변경분을 프레임으로 변환
+     * @return 변경이 없으면 empty
+     */
+    public Optional<TickFrames> drain() {
+        Map<String, Map<Integer, Object>> changes;
+        List<DeltaFrame> assetFrames;
+        GlobalDeltaFrame global;
+        long now = System.currentTimeMillis();
+
+        synchronized (lock) {
+            if (pending.isEmpty()) return Optional.empty();
+            changes = pending;
+            pending = new LinkedHashMap<>();
+
+            assetFrames = new ArrayList<>(changes.size());
+            for (Map.Entry<String, Map<Integer, Object>> e : changes.entrySet()) {
+                long assetNext = assetSeq.merge(e.getKey(), 1L, Long::sum);
+                assetFrames.add(new DeltaFrame(assetNext, e.getKey(), now, e.getValue()));
+            }
+            global = new GlobalDeltaFrame(++globalSeq, now, changes);
+            changeLog.append(global);
+        }
+        return Optional.of(new TickFrames(assetFrames, global));
+    }
+
+    public record TickFrames(List<DeltaFrame> assetFrames, GlobalDeltaFrame global) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.mpole.hdt.digitaltwin.application.realtime;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 필드명 ↔ 숫자 ID 사전
+ * - 실시간 프레임에서 필드명 대신 ID를 사용하여 전송량 축소
+ * - 기본 센서/상태 필드는 고정 ID, 그 외 필드는 최초 사용 시 순서대로 발급
+ * - 클라이언트는 /api/digitaltwin/fields 또는 /pub/digitaltwin/request/fields 로 사전 조회
+ */
+@Component
+public class FieldRegistry {
+
+    private static final List<String> BUILT_IN = List.of(
+            "temperature", "humidity", "power", "voltage", "current",
+            "efficiency", "operatingTime", "isOperating", "equipmentStatus"
+    );
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final List<String> names = new CopyOnWriteArrayList<>();
+
+    public FieldRegistry() {
+        BUILT_IN.forEach(this::idOf);
+    }
+
+    /**
+     * 필드 ID 조회 (없으면 발급, 1부터 시작)
+     */
+    public int idOf(String fieldName) {
+        Integer id = ids.get(fieldName);
+        if (id != null) return id;
+        synchronized (this) {
+            return ids.computeIfAbsent(fieldName, name -> {
+                names.add(name);
+                return names.size();
+            });
+        }
+    }
+
+    public String nameOf(int id) {
+        return (id >= 1 && id <= names.size()) ? names.get(id - 1) : null;
+    }
+
+    /**
+     * ID → 필드명 전체 사전
+     */
+    public Map<Integer, String> dictionary() {
+        Map<Integer, String> dictionary = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            dictionary.put(i + 1, names.get(i));
+        }
+        return dictionary;
+    }
+}
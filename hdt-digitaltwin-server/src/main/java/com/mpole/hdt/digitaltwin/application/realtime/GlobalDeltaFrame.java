@@ -0,0 +1,40 @@
+package com.mpole.hdt.digitaltwin.application.realtime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mpole.hdt.digitaltwin.infrastructure.websocket.Conflatable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * tick 단위 전체 변경 프레임 (/sub/digitaltwin/updates)
+ * @param seq       전역 채널 순번 (1씩 증가, 건너뛰면 유실)
+ * @param ts        프레임 생성 시각 (epoch millis)
+ * @param assets    assetId → (필드 ID → 최신 값), 변경된 자산/필드만 포함
+ * @param conflated 전송 대기 중 병합된 이전 프레임 수 (0이면 생략, 그만큼 seq가 건너뜀)
+ */
+public record GlobalDeltaFrame(
+        long seq,
+        long ts,
+        Map<String, Map<Integer, Object>> assets,
+        @JsonInclude(JsonInclude.Include.NON_DEFAULT) int conflated
+) implements Conflatable<GlobalDeltaFrame> {
+
+    public GlobalDeltaFrame(long seq, long ts, Map<String, Map<Integer, Object>> assets) {
+        this(seq, ts, assets, 0);
+    }
+
+    /**
+     * 대기 중인 이전 프레임(this)에 최신 프레임을 덮어쓴 병합 프레임 (자산·필드별 최신 값)
+     */
+    @Override
+    public GlobalDeltaFrame conflate(GlobalDeltaFrame newer) {
+        Map<String, Map<Integer, Object>> merged = new HashMap<>(assets);
+        newer.assets.forEach((assetId, fields) -> merged.merge(assetId, fields, (older, latest) -> {
+            Map<Integer, Object> m = new HashMap<>(older);
+            m.putAll(latest);
+            return m;
+        }));
+        return new GlobalDeltaFrame(newer.seq, newer.ts, merged, conflated + newer.conflated + 1);
+    }
+}
@@ -0,0 +1,37 @@
+package com.mpole.hdt.digitaltwin.application.realtime;
+
+/**
+ * 클라이언트 관심 영역 (/pub/digitaltwin/interest)
+ * 지정한 조건을 모두 만족하는 배치(DevicePlacement)의 장비만 전송, null 조건은 무시
+ * @param floorLevel Unity Floor/Level (예: "Floor_1F")
+ * @param layerName  Unity Layer 이름
+ * @param min        AABB 최소 좌표 (max와 함께 지정)
+ * @param max        AABB 최대 좌표
+ */
+public record InterestRegion(
+        String floorLevel,
+        String layerName,
+        Vector3 min,
+        Vector3 max
+) {
+
+    public record Vector3(float x, float y, float z) {
+    }
+
+    public boolean hasBox() {
+        return min != null && max != null;
+    }
+
+    public boolean isEmpty() {
+        return floorLevel == null && layerName == null && !hasBox();
+    }
+
+    public boolean contains(String floor, String layer, float x, float y, float z) {
+        if (floorLevel != null && !floorLevel.equals(floor)) return false;
+        if (layerName != null && !layerName.equals(layer)) return false;
+        if (!hasBox()) return true;
+        return x >= min.x() && x <= max.x()
+                && y >= min.y() && y <= max.y()
+                && z >= min.z() && z <= max.z();
+    }
+}
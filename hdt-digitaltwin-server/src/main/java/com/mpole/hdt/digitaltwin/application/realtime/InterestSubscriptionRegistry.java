@@ -0,0 +1,73 @@
+package com.mpole.hdt.digitaltwin.application.realtime;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 세션별 관심 영역 구독 관리
+ * - 같은 영역을 지정한 세션은 묶어서 프레임을 1회만 필터링/직렬화
+ * - 연결 종료 시 자동 해제
+ */
+@Component
+@RequiredArgsConstructor
+public class InterestSubscriptionRegistry {
+
+    private final PlacementSpatialIndex spatialIndex;
+
+    private final Map<String, InterestRegion> regions = new ConcurrentHashMap<>();
+
+    /**
+     * @return 현재 영역에 포함된 장비 목록
+     */
+    public Set<String> subscribe(String sessionId, InterestRegion region) {
+        regions.put(sessionId, region);
+        return spatialIndex.query(region);
+    }
+
+    public void unsubscribe(String sessionId) {
+        regions.remove(sessionId);
+    }
+
+    public boolean isEmpty() {
+        return regions.isEmpty();
+    }
+
+    /**
+     * 전체 변경 프레임을 영역별로 필터링
+     * @return 영역 → (해당 영역 세션 목록, 필터링된 프레임), 포함 장비 변경이 없는 영역은 제외
+     */
+    public List<RegionFrame> filter(GlobalDeltaFrame frame) {
+        Map<InterestRegion, List<String>> sessionsByRegion = new HashMap<>();
+        regions.forEach((sessionId, region) ->
+                sessionsByRegion.computeIfAbsent(region, k -> new ArrayList<>()).add(sessionId));
+
+        List<RegionFrame> result = new ArrayList<>(sessionsByRegion.size());
+        sessionsByRegion.forEach((region, sessionIds) -> {
+            Map<String, Map<Integer, Object>> assets = new HashMap<>();
+            frame.assets().forEach((assetId, fields) -> {
+                if (spatialIndex.contains(region, assetId)) assets.put(assetId, fields);
+            });
+            if (!assets.isEmpty()) {
+                result.add(new RegionFrame(sessionIds, new GlobalDeltaFrame(frame.seq(), frame.ts(), assets)));
+            }
+        });
+        return result;
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        regions.remove(event.getSessionId());
+    }
+
+    public record RegionFrame(List<String> sessionIds, GlobalDeltaFrame frame) {
+    }
+}
@@ -0,0 +1,213 @@
+package com.mpole.hdt.digitaltwin.application.realtime;
+
+import com.mpole.hdt.digitaltwin.application.repository.DevicePlacementRepository;
+import com.mpole.hdt.digitaltwin.application.repository.entity.DevicePlacement;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 장비 배치 좌표 인메모리 공간 인덱스 (관심 영역 구독용)
+ * - 키: deviceCode (= 실시간 프레임 assetId)
+ * - floor 별 균등 격자(cellSize) → AABB 조회 시 겹치는 격자만 탐색
+ * - 기동 시 활성 배치 전체 적재, 이후 DeviceService의 배치 저장/장비 코드 변경/삭제 커밋 후 갱신
+ */
+@Slf4j
+@Component
+public class PlacementSpatialIndex {
+
+    private final DevicePlacementRepository placementRepository;
+    private final float cellSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<CellKey, List<Entry>> cells = new HashMap<>();
+    // floor → 배치 수 (floor 미지정 AABB 조회 시 floor별 격자 탐색)
+    private final Map<String, Integer> floorCounts = new HashMap<>();
+
+    public PlacementSpatialIndex(
+            DevicePlacementRepository placementRepository,
+            @Value("${hdt.realtime.interest.cell-size:10}") float cellSize
+    ) {
+        this.placementRepository = placementRepository;
+        this.cellSize = cellSize;
+    }
+
+    public record Entry(String deviceCode, String floorLevel, String layerName, float x, float y, float z) {
+    }
+
+    private record CellKey(String floorLevel, int cx, int cy, int cz) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        List<DevicePlacement> placements = placementRepository.findByEnabledTrue();
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            cells.clear();
+            floorCounts.clear();
+            for (DevicePlacement placement : placements) {
+                addLocked(toEntry(placement));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("===== 배치 공간 인덱스 적재: {} 건 =====", placements.size());
+    }
+
+    /**
+     * 배치 → 인덱스 항목 (비활성 배치는 null), 트랜잭션 안에서 만들어 커밋 후 put()으로 반영
+     */
+    public static Entry entryOf(DevicePlacement placement) {
+        return Boolean.TRUE.equals(placement.getEnabled()) ? toEntry(placement) : null;
+    }
+
+    /**
+     * 장비 배치 추가/갱신 (entry가 null이면 제거)
+     */
+    public void put(String deviceCode, Entry entry) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(deviceCode);
+            if (entry != null) {
+                addLocked(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String deviceCode) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(deviceCode);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 관심 영역에 포함된 장비 목록
+     */
+    public Set<String> query(InterestRegion region) {
+        Set<String> result = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            if (!region.hasBox()) {
+                for (Entry e : entries.values()) {
+                    if (matches(region, e)) result.add(e.deviceCode());
+                }
+                return result;
+            }
+
+            int minX = cell(region.min().x()), maxX = cell(region.max().x());
+            int minY = cell(region.min().y()), maxY = cell(region.max().y());
+            int minZ = cell(region.min().z()), maxZ = cell(region.max().z());
+            Set<String> floors = region.floorLevel() != null ? Collections.singleton(region.floorLevel()) : floorCounts.keySet();
+            long boxCells = ((long) maxX - minX + 1) * ((long) maxY - minY + 1) * ((long) maxZ - minZ + 1);
+
+            // 박스 격자 수가 점유 격자 수보다 많으면(격자 대비 아주 큰 박스) 점유 격자 순회가 더 적음
+            if (boxCells * floors.size() > cells.size()) {
+                for (Map.Entry<CellKey, List<Entry>> c : cells.entrySet()) {
+                    CellKey key = c.getKey();
+                    if (!floors.contains(key.floorLevel())) continue;
+                    if (key.cx() < minX || key.cx() > maxX || key.cy() < minY || key.cy() > maxY
+                            || key.cz() < minZ || key.cz() > maxZ) continue;
+                    collect(region, c.getValue(), result);
+                }
+                return result;
+            }
+            for (String floor : floors) {
+                for (int cx = minX; cx <= maxX; cx++) {
+                    for (int cy = minY; cy <= maxY; cy++) {
+                        for (int cz = minZ; cz <= maxZ; cz++) {
+                            List<Entry> cell = cells.get(new CellKey(floor, cx, cy, cz));
+                            if (cell != null) collect(region, cell, result);
+                        }
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 장비 1건의 관심 영역 포함 여부 (배치 정보 없으면 false)
+     */
+    public boolean contains(InterestRegion region, String deviceCode) {
+        lock.readLock().lock();
+        try {
+            Entry e = entries.get(deviceCode);
+            return e != null && matches(region, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void collect(InterestRegion region, List<Entry> cell, Set<String> result) {
+        for (Entry e : cell) {
+            if (matches(region, e)) result.add(e.deviceCode());
+        }
+    }
+
+    private static boolean matches(InterestRegion region, Entry e) {
+        return region.contains(e.floorLevel(), e.layerName(), e.x(), e.y(), e.z());
+    }
+
+    private void addLocked(Entry entry) {
+        entries.put(entry.deviceCode(), entry);
+        cells.computeIfAbsent(cellOf(entry), k -> new ArrayList<>()).add(entry);
+        floorCounts.merge(entry.floorLevel(), 1, Integer::sum);
+    }
+
+    private void removeLocked(String deviceCode) {
+        Entry old = entries.remove(deviceCode);
+        if (old == null) return;
+        floorCounts.computeIfPresent(old.floorLevel(), (floor, count) -> count > 1 ? count - 1 : null);
+        CellKey key = cellOf(old);
+        List<Entry> cell = cells.get(key);
+        if (cell != null) {
+            cell.remove(old);
+            if (cell.isEmpty()) cells.remove(key);
+        }
+    }
+
+    private CellKey cellOf(Entry e) {
+        return new CellKey(e.floorLevel(), cell(e.x()), cell(e.y()), cell(e.z()));
+    }
+
+    private int cell(float coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static Entry toEntry(DevicePlacement p) {
+        return new Entry(p.getDevice().getDeviceCode(), p.getFloorLevel(), p.getLayerName(),
+                p.getPositionX(), p.getPositionY(), p.getPositionZ());
+    }
+}
@@ -0,0 +1,34 @@
+package com.mpole.hdt.digitaltwin.application.realtime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mpole.hdt.digitaltwin.application.state.AssetSnapshot;
+
+import java.util.List;
+
+/**
+ * /pub/digitaltwin/sync 응답 (/user/sub/digitaltwin/sync)
+ * - DELTA: lastVersion 이후 변경 프레임 목록 (deltas)
+ * - SNAPSHOT: 이력 범위를 벗어나 전체 스냅샷 전송 (snapshot), 이후 version 보다 큰 프레임부터 적용
+ * - node: version/seq 기준 노드 ID (다른 노드가 발행한 프레임의 seq는 이 노드 이력과 무관)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SyncResponse(
+        Mode mode,
+        String node,
+        long version,
+        List<GlobalDeltaFrame> deltas,
+        List<AssetSnapshot> snapshot
+) {
+    public enum Mode {
+        DELTA,
+        SNAPSHOT
+    }
+
+    public static SyncResponse delta(String node, long version, List<GlobalDeltaFrame> deltas) {
+        return new SyncResponse(Mode.DELTA, node, version, deltas, null);
+    }
+
+    public static SyncResponse snapshot(String node, long version, List<AssetSnapshot> snapshot) {
+        return new SyncResponse(Mode.SNAPSHOT, node, version, null, snapshot);
+    }
+}
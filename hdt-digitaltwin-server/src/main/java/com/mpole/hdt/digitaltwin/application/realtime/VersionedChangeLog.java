@@ -0,0 +1,62 @@
+package com.mpole.hdt.digitaltwin.application.realtime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 전역 변경 이력 (최근 capacity 개 GlobalDeltaFrame)
+ * - 전역 버전 = GlobalDeltaFrame.seq (tick마다 1씩 증가)
+ * - 재접속 클라이언트가 마지막 버전 이후 변경분을 받아 따라잡는 용도
+ */
+@Component
+public class VersionedChangeLog {
+
+    private final int capacity;
+    private final Deque<GlobalDeltaFrame> frames;
+    private long version = 0;
+
+    public VersionedChangeLog(@Value("${hdt.realtime.change-log-size:600}") int capacity) {
+        this.capacity = capacity;
+        this.frames = new ArrayDeque<>(capacity);
+    }
+
+    public synchronized void append(GlobalDeltaFrame frame) {
+        if (frames.size() >= capacity) {
+            frames.pollFirst();
+        }
+        frames.addLast(frame);
+        version = frame.seq();
+    }
+
+    public synchronized long currentVersion() {
+        return version;
+    }
+
+    /**
+     * lastVersion 이후 변경분 (오래된 순)
+     * @return 이력 범위를 벗어나 이어받을 수 없으면 empty (전체 스냅샷 필요)
+     */
+    public synchronized Optional<List<GlobalDeltaFrame>> since(long lastVersion) {
+        if (lastVersion < 0 || lastVersion > version) return Optional.empty();
+        if (lastVersion == version) return Optional.of(List.of());
+
+        GlobalDeltaFrame oldest = frames.peekFirst();
+        if (oldest == null || oldest.seq() > lastVersion + 1) return Optional.empty();
+
+        List<GlobalDeltaFrame> result = new ArrayList<>((int) (version - lastVersion));
+        Iterator<GlobalDeltaFrame> it = frames.descendingIterator();
+        while (it.hasNext()) {
+            GlobalDeltaFrame frame = it.next();
+            if (frame.seq() <= lastVersion) break;
+            result.add(frame);
+        }
+        return Optional.of(result.reversed());
+    }
+}
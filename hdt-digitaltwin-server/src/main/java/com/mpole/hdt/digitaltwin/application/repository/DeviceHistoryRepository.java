@@ -0,0 +1,25 @@
+package com.mpole.hdt.digitaltwin.application.repository;
+
+import com.mpole.hdt.digitaltwin.application.repository.entity.DeviceHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Repository
+public interface DeviceHistoryRepository extends JpaRepository<DeviceHistory, Long> {
+
+    /**
+     * 장비별 구간 조회 [from, to), values가 있는 행만
+     * (숫자 값 분리 이후 행은 숫자 외 값이 없으면 values가 null → 숫자 이력 조회에서 제외)
+     * timestamp 조건이 파티션 키와 같은 반열림 구간이므로 해당 파티션만 스캔
+     */
+    @Query("SELECT h FROM DeviceHistory h WHERE h.device.id = :deviceId " +
+           "AND h.timestamp >= :from AND h.timestamp < :to AND h.values IS NOT NULL ORDER BY h.timestamp")
+    List<DeviceHistory> findRangeWithValues(@Param("deviceId") Long deviceId,
+                                  @Param("from") OffsetDateTime from,
+                                  @Param("to") OffsetDateTime to);
+}
@@ -17,6 +17,17 @@ public interface DeviceRepository extends JpaRepository<Device, Long> {
      */
     Optional<Device> findByDeviceCode(String deviceCode);
     
+    /**
+     * 전체 장비 코드 → id (이력 기록 캐시 적재용, 엔티티 로딩 없음)
+     */
+    @Query("SELECT d.deviceCode AS deviceCode, d.id AS id FROM Device d")
+    List<DeviceCodeId> findAllCodeIds();
+
+    interface DeviceCodeId {
+        String getDeviceCode();
+        Long getId();
+    }
+
     /**
      * Device ID 존재 여부
      */
@@ -20,8 +20,12 @@ import java.util.Map;
 @Builder
 public class DeviceHistory {
 
+    /**
+     * 시퀀스 ID (배치 insert 가능, DeviceHistoryWriter는 nextval 직접 사용)
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "device_history_seq")
+    @SequenceGenerator(name = "device_history_seq", sequenceName = "device_history_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -35,7 +39,7 @@ public class DeviceHistory {
     private String operationStatus;
     private Boolean isRunning;
 
-    // 측정값 스냅샷
+    // 숫자 외 측정값 (숫자 측정값은 device_sample 테이블)
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(columnDefinition = "TEXT")
     private Map<String, Object> values;
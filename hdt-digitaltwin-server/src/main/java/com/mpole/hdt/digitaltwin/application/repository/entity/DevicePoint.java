@@ -0,0 +1,31 @@
+package com.mpole.hdt.digitaltwin.application.repository.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 측정 포인트 사전 (temperature, power ...)
+ * device_sample은 키 문자열 대신 point_id만 저장
+ */
+@Entity
+@Table(name = "device_points")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DevicePoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false, unique = true, length = 100)
+    private String pointKey;
+
+    @Column(length = 20)
+    private String unit;
+
+    @Column(length = 255)
+    private String description;
+}
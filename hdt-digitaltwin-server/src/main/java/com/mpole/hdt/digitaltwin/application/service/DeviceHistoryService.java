@@ -0,0 +1,307 @@
+package com.mpole.hdt.digitaltwin.application.service;
+
+import com.mpole.hdt.digitaltwin.api.dto.history.DeviceHistorySeriesDTO;
+import com.mpole.hdt.digitaltwin.api.dto.history.HistoryPointDTO;
+import com.mpole.hdt.digitaltwin.api.dto.history.SparklineDTO;
+import com.mpole.hdt.digitaltwin.application.history.DeviceHistoryPartitionManager;
+import com.mpole.hdt.digitaltwin.application.history.DeviceHistoryRecorder;
+import com.mpole.hdt.digitaltwin.application.history.DeviceHistoryRollup;
+import com.mpole.hdt.digitaltwin.application.history.DeviceSampleStore;
+import com.mpole.hdt.digitaltwin.application.history.RollupResolution;
+import com.mpole.hdt.digitaltwin.application.history.recent.RecentHistoryBuffer;
+import com.mpole.hdt.digitaltwin.application.repository.DeviceHistoryRepository;
+import com.mpole.hdt.digitaltwin.application.repository.DeviceRepository;
+import com.mpole.hdt.digitaltwin.application.repository.entity.Device;
+import com.mpole.hdt.digitaltwin.application.repository.entity.DeviceHistory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * 장비 이력 조회
+ * - 요청 구간/최대 점 수(maxPoints)에 맞춰 해상도 자동 선택
+ *   RAW(예상 샘플 수 ≤ maxPoints) → 1분 → 1시간 → 1일 순으로 maxPoints 이내가 되는 첫 해상도
+ * - 보존 기간이 from을 덮지 못하는 해상도는 건너뜀 (원본: 파티션 보존 기간, 집계: 해상도별 보존 기간)
+ * - 1일 집계로도 넘치면 1일 집계 사용
+ * - RAW 직접 지정 시에도 예상 샘플 수(구간 / rawSampleInterval)가 maxPoints 이내여야 함
+ * - RAW는 최근 이력 버퍼(RecentHistoryBuffer)가 보유한 구간은 메모리에서,
+ *   그 이전 구간은 device_sample + 분리 이전에 JSON으로 저장된 device_history 숫자 값
+ * - deviceCode → id는 DeviceHistoryRecorder 캐시 우선 (recent/sparkline 메모리 경로는 트랜잭션/DB 조회 없음)
+ */
+@Slf4j
+@Service
+public class DeviceHistoryService {
+
+    private static final RollupResolution[] CANDIDATES = {
+            RollupResolution.RAW, RollupResolution.MINUTE, RollupResolution.HOUR, RollupResolution.DAY
+    };
+
+    private final DeviceRepository deviceRepository;
+    private final DeviceHistoryRepository historyRepository;
+    private final DeviceSampleStore sampleStore;
+    private final DeviceHistoryRollup rollup;
+    private final DeviceHistoryPartitionManager partitionManager;
+    private final RecentHistoryBuffer recentBuffer;
+    private final DeviceHistoryRecorder recorder;
+    private final Duration rawSampleInterval;
+    private final int maxPointsLimit;
+    private final Duration maxRecentWindow;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    public DeviceHistoryService(
+            DeviceRepository deviceRepository,
+            DeviceHistoryRepository historyRepository,
+            DeviceSampleStore sampleStore,
+            DeviceHistoryRollup rollup,
+            DeviceHistoryPartitionManager partitionManager,
+            RecentHistoryBuffer recentBuffer,
+            DeviceHistoryRecorder recorder,
+            @Value("${hdt.history.query.raw-sample-interval:1s}") Duration rawSampleInterval,
+            @Value("${hdt.history.query.max-points-limit:5000}") int maxPointsLimit,
+            @Value("${hdt.history.recent.max-window:6h}") Duration maxRecentWindow
+    ) {
+        this.deviceRepository = deviceRepository;
+        this.historyRepository = historyRepository;
+        this.sampleStore = sampleStore;
+        this.rollup = rollup;
+        this.partitionManager = partitionManager;
+        this.recentBuffer = recentBuffer;
+        this.recorder = recorder;
+        this.rawSampleInterval = rawSampleInterval;
+        this.maxPointsLimit = maxPointsLimit;
+        this.maxRecentWindow = maxRecentWindow;
+    }
+
+    /**
+     * 구간 이력 조회 [from, to)
+     * @param resolution null이면 자동 선택
+     * @param keys       null/empty면 전체 측정값
+     */
+    @Transactional(readOnly = true)
+    public DeviceHistorySeriesDTO getHistory(String deviceCode, OffsetDateTime from, OffsetDateTime to,
+                                             int maxPoints, RollupResolution resolution, List<String> keys) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("조회 시작 시각이 종료 시각보다 앞서야 합니다");
+        }
+        validateMaxPoints(maxPoints);
+        long deviceId = findDeviceId(deviceCode);
+
+        if (resolution == RollupResolution.RAW && Duration.between(from, to).dividedBy(rawSampleInterval) > maxPoints) {
+            throw new IllegalArgumentException("RAW 해상도는 최대 " + rawSampleInterval.multipliedBy(maxPoints).toMinutes()
+                    + "분 구간까지 조회할 수 있습니다 (maxPoints=" + maxPoints + ")");
+        }
+        RollupResolution selected = (resolution != null) ? resolution : selectResolution(from, to, maxPoints);
+        Map<String, List<HistoryPointDTO>> series = selected.isRollup()
+                ? fromRollup(selected, deviceId, from, to, keys)
+                : fromRaw(deviceId, from, to, keys);
+
+        return DeviceHistorySeriesDTO.builder()
+                .deviceCode(deviceCode)
+                .resolution(selected.name())
+                .from(from)
+                .to(to)
+                .series(series)
+                .build();
+    }
+
+    /**
+     * 최근 window 구간 원본 조회 (메모리 버퍼 우선, 버퍼 이전 구간은 DB)
+     */
+    public DeviceHistorySeriesDTO getRecent(String deviceCode, Duration window, List<String> keys) {
+        if (window.isNegative() || window.isZero() || window.compareTo(maxRecentWindow) > 0) {
+            throw new IllegalArgumentException("조회 구간은 최대 " + maxRecentWindow.toMinutes() + "분입니다");
+        }
+        long deviceId = findDeviceId(deviceCode);
+        OffsetDateTime to = OffsetDateTime.now(zone);
+        OffsetDateTime from = to.minus(window);
+
+        return DeviceHistorySeriesDTO.builder()
+                .deviceCode(deviceCode)
+                .resolution(RollupResolution.RAW.name())
+                .from(from)
+                .to(to)
+                .series(fromRaw(deviceId, from, to, keys))
+                .build();
+    }
+
+    /**
+     * 최근 window 구간 스파크라인 (points 개 칸)
+     * 버퍼가 구간 전체를 보유하면 메모리만 사용, 아니면 getHistory와 같은 해상도 선택
+     */
+    public SparklineDTO getSparkline(String deviceCode, Duration window, int points, List<String> keys) {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("조회 구간은 0보다 커야 합니다");
+        }
+        validateMaxPoints(points);
+        long deviceId = findDeviceId(deviceCode);
+        OffsetDateTime to = OffsetDateTime.now(zone);
+        OffsetDateTime from = to.minus(window);
+
+        String source;
+        Map<String, List<HistoryPointDTO>> series;
+        Optional<Instant> coverage = recentBuffer.coverageStart(deviceId, keys);
+        if (coverage.isPresent() && !coverage.get().isAfter(from.toInstant())) {
+            source = "MEMORY";
+            series = fromBuffer(deviceId, from, to, keys);
+        } else {
+            RollupResolution resolution = selectResolution(from, to, points);
+            source = resolution.name();
+            series = resolution.isRollup()
+                    ? fromRollup(resolution, deviceId, from, to, keys)
+                    : fromRaw(deviceId, from, to, keys);
+        }
+
+        long fromMillis = from.toInstant().toEpochMilli();
+        long step = Math.max(1, window.toMillis() / points);
+        Map<String, List<Double>> slots = new TreeMap<>();
+        series.forEach((key, values) -> slots.put(key, toSlots(values, fromMillis, step, points)));
+
+        return SparklineDTO.builder()
+                .deviceCode(deviceCode)
+                .source(source)
+                .from(from)
+                .to(to)
+                .stepMillis(step)
+                .series(slots)
+                .build();
+    }
+
+    // 칸별 count 가중 평균 (구간 시작 전부터 걸친 집계 구간은 첫 칸에 포함)
+    private static List<Double> toSlots(List<HistoryPointDTO> values, long fromMillis, long step, int points) {
+        double[] sums = new double[points];
+        long[] counts = new long[points];
+        for (HistoryPointDTO p : values) {
+            long offset = p.getTimestamp().toInstant().toEpochMilli() - fromMillis;
+            int slot = (int) Math.max(0, offset / step);
+            if (slot >= points) continue;
+            long weight = (p.getCount() != null) ? p.getCount() : 1L;
+            sums[slot] += p.getAvg() * weight;
+            counts[slot] += weight;
+        }
+        List<Double> result = new ArrayList<>(points);
+        for (int i = 0; i < points; i++) {
+            result.add(counts[i] > 0 ? sums[i] / counts[i] : null);
+        }
+        return result;
+    }
+
+    private void validateMaxPoints(int maxPoints) {
+        if (maxPoints <= 0 || maxPoints > maxPointsLimit) {
+            throw new IllegalArgumentException("maxPoints는 1 ~ " + maxPointsLimit + " 사이여야 합니다");
+        }
+    }
+
+    private long findDeviceId(String deviceCode) {
+        return recorder.cachedDeviceId(deviceCode)
+                .or(() -> deviceRepository.findByDeviceCode(deviceCode).map(Device::getId))
+                .orElseThrow(() -> new IllegalArgumentException("장비를 찾을 수 없습니다: " + deviceCode));
+    }
+
+    RollupResolution selectResolution(OffsetDateTime from, OffsetDateTime to, int maxPoints) {
+        Duration range = Duration.between(from, to);
+        for (RollupResolution candidate : CANDIDATES) {
+            if (!retains(candidate, from)) continue;
+            Duration step = candidate.isRollup() ? candidate.step() : rawSampleInterval;
+            if (range.dividedBy(step) <= maxPoints) return candidate;
+        }
+        return RollupResolution.DAY;
+    }
+
+    // 보존 기간이 from 시점을 포함하는지 (0: 무기한)
+    private boolean retains(RollupResolution resolution, OffsetDateTime from) {
+        Duration keep = resolution.isRollup() ? rollup.retention(resolution) : partitionManager.retention();
+        return keep.isZero() || !from.isBefore(OffsetDateTime.now(zone).minus(keep));
+    }
+
+    private Map<String, List<HistoryPointDTO>> fromRollup(RollupResolution resolution, long deviceId,
+                                                          OffsetDateTime from, OffsetDateTime to, List<String> keys) {
+        Map<String, List<HistoryPointDTO>> series = new TreeMap<>();
+        rollup.query(resolution, deviceId, from, to, keys).forEach((key, points) -> {
+            List<HistoryPointDTO> dtos = new ArrayList<>(points.size());
+            for (DeviceHistoryRollup.RollupPoint p : points) {
+                dtos.add(HistoryPointDTO.builder()
+                        .timestamp(p.bucket())
+                        .min(p.min())
+                        .max(p.max())
+                        .avg(p.avg())
+                        .last(p.last())
+                        .count(p.count())
+                        .build());
+            }
+            series.put(key, dtos);
+        });
+        return series;
+    }
+
+    /**
+     * 원본 조회: 버퍼 보유 구간 [coverage, to)는 메모리, [from, coverage)는 DB
+     */
+    private Map<String, List<HistoryPointDTO>> fromRaw(long deviceId, OffsetDateTime from, OffsetDateTime to,
+                                                       List<String> keys) {
+        Optional<Instant> coverage = recentBuffer.coverageStart(deviceId, keys);
+        if (coverage.isEmpty() || !coverage.get().isBefore(to.toInstant())) {
+            return fromStorage(deviceId, from, to, keys);
+        }
+        OffsetDateTime boundary = OffsetDateTime.ofInstant(coverage.get(), zone);
+        if (!boundary.isAfter(from)) {
+            return fromBuffer(deviceId, from, to, keys);
+        }
+        Map<String, List<HistoryPointDTO>> series = fromStorage(deviceId, from, boundary, keys);
+        fromBuffer(deviceId, boundary, to, keys).forEach((key, points) ->
+                series.computeIfAbsent(key, k -> new ArrayList<>()).addAll(points));
+        return series;
+    }
+
+    private Map<String, List<HistoryPointDTO>> fromBuffer(long deviceId, OffsetDateTime from, OffsetDateTime to,
+                                                          List<String> keys) {
+        Map<String, List<HistoryPointDTO>> series = new TreeMap<>();
+        recentBuffer.query(deviceId, from.toInstant().toEpochMilli(), to.toInstant().toEpochMilli(), keys)
+                .forEach((key, points) -> {
+                    List<HistoryPointDTO> dtos = new ArrayList<>(points.size());
+                    for (RecentHistoryBuffer.Point p : points) {
+                        OffsetDateTime timestamp = OffsetDateTime.ofInstant(Instant.ofEpochMilli(p.timestamp()), zone);
+                        dtos.add(new HistoryPointDTO(timestamp, p.value(), p.value(), p.value(), p.value(), 1L));
+                    }
+                    series.put(key, dtos);
+                });
+        return series;
+    }
+
+    private Map<String, List<HistoryPointDTO>> fromStorage(long deviceId, OffsetDateTime from, OffsetDateTime to,
+                                                           List<String> keys) {
+        Map<String, List<HistoryPointDTO>> series = new TreeMap<>();
+        sampleStore.query(deviceId, from, to, keys).forEach((key, samples) -> {
+            List<HistoryPointDTO> dtos = series.computeIfAbsent(key, k -> new ArrayList<>());
+            for (DeviceSampleStore.Sample s : samples) {
+                dtos.add(new HistoryPointDTO(s.timestamp(), s.value(), s.value(), s.value(), s.value(), 1L));
+            }
+        });
+
+        boolean legacy = false;
+        for (DeviceHistory history : historyRepository.findRangeWithValues(deviceId, from, to)) {
+            if (history.getValues() == null) continue;
+            for (Map.Entry<String, Object> entry : history.getValues().entrySet()) {
+                if (!(entry.getValue() instanceof Number number)) continue;
+                if (keys != null && !keys.isEmpty() && !keys.contains(entry.getKey())) continue;
+                double value = number.doubleValue();
+                series.computeIfAbsent(entry.getKey(), k -> new ArrayList<>())
+                        .add(new HistoryPointDTO(history.getTimestamp(), value, value, value, value, 1L));
+                legacy = true;
+            }
+        }
+        if (legacy) series.values().forEach(points -> points.sort(Comparator.comparing(HistoryPointDTO::getTimestamp)));
+        return series;
+    }
+}
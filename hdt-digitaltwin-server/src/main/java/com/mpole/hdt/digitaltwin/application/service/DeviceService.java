@@ -1,6 +1,8 @@
 package com.mpole.hdt.digitaltwin.application.service;
 
 import com.mpole.hdt.digitaltwin.api.dto.device.*;
+import com.mpole.hdt.digitaltwin.application.history.DeviceHistoryRecorder;
+import com.mpole.hdt.digitaltwin.application.realtime.PlacementSpatialIndex;
 import com.mpole.hdt.digitaltwin.application.repository.DevicePlacementRepository;
 import com.mpole.hdt.digitaltwin.application.repository.DeviceRepository;
 import com.mpole.hdt.digitaltwin.application.repository.DeviceModelRepository;
@@ -12,6 +14,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -25,6 +29,8 @@ public class DeviceService {
     private final DeviceRepository deviceRepository;
     private final DevicePlacementRepository placementRepository;
     private final DeviceModelRepository deviceModelRepository;
+    private final PlacementSpatialIndex spatialIndex;
+    private final DeviceHistoryRecorder historyRecorder;
     
     /**
      * 전체 장비 조회
@@ -140,6 +146,9 @@ public class DeviceService {
                 .build();
         
         device = deviceRepository.save(device);
+        String deviceCode = device.getDeviceCode();
+        Long deviceId = device.getId();
+        afterCommit(() -> historyRecorder.deviceRegistered(deviceCode, deviceId));
         log.info("장비 생성: {} ({})", device.getDeviceName(), device.getDeviceCode());
         
         return toDto(device);
@@ -158,7 +167,16 @@ public class DeviceService {
             if (deviceRepository.existsByDeviceCode(request.getDeviceCode())) {
                 throw new IllegalArgumentException("이미 존재하는 Device ID입니다: " + request.getDeviceCode());
             }
-            device.setDeviceCode(request.getDeviceCode());
+            String oldCode = device.getDeviceCode();
+            String deviceCode = request.getDeviceCode();
+            device.setDeviceCode(deviceCode);
+            PlacementSpatialIndex.Entry entry = placementRepository.findByDevice_Id(id)
+                    .map(PlacementSpatialIndex::entryOf).orElse(null);
+            afterCommit(() -> {
+                spatialIndex.remove(oldCode);
+                spatialIndex.put(deviceCode, entry);
+                historyRecorder.deviceRegistered(deviceCode, id);
+            });
         }
         
         // DeviceModel 변경 시
@@ -203,8 +221,29 @@ public class DeviceService {
         }
         
         deviceRepository.delete(device);
+        String deviceCode = device.getDeviceCode();
+        afterCommit(() -> {
+            spatialIndex.remove(deviceCode);
+            historyRecorder.deviceRemoved(deviceCode);
+        });
         log.info("장비 삭제: {} ({})", device.getDeviceName(), device.getDeviceCode());
     }
+
+    /**
+     * 트랜잭션 커밋 후 실행 (롤백 시 실행 안 함), 트랜잭션 밖이면 즉시 실행
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
     
     /**
      * 장비 배치 정보 조회
@@ -252,6 +291,9 @@ public class DeviceService {
         placement.setEnabled(request.getEnabled() != null ? request.getEnabled() : true);
         
         placement = placementRepository.save(placement);
+        String deviceCode = device.getDeviceCode();
+        PlacementSpatialIndex.Entry entry = PlacementSpatialIndex.entryOf(placement);
+        afterCommit(() -> spatialIndex.put(deviceCode, entry));
         log.info("장비 배치 정보 저장: deviceId={}", request.getDeviceId());
         
         return toPlacementDto(placement);
@@ -1,29 +1,28 @@
 package com.mpole.hdt.digitaltwin.application.service;
 
-import com.mpole.hdt.digitaltwin.api.dto.DigitalTwinDataDto;
+import com.mpole.hdt.digitaltwin.application.state.AssetSnapshot;
+import com.mpole.hdt.digitaltwin.application.state.DigitalTwinLiveStateService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 /**
- * 디지털 트윈 Mock 데이터 서비스
- * 실제 DB 연동 전까지 사용할 임시 데이터 제공
+ * 디지털 트윈 Mock 데이터 시뮬레이터
+ * 실제 수집 연동 전까지 DigitalTwinLiveStateService에 샘플 자산/센서값을 기록
  */
 @Slf4j
 @Service
 public class DigitalTwinMockService {
 
-    // Mock 데이터 저장소 (메모리)
-    private final Map<String, DigitalTwinDataDto> mockDataStore = new ConcurrentHashMap<>();
-    
+    private final DigitalTwinLiveStateService liveState;
+
     // 센서값 변동을 위한 Random
     private final Random random = new Random();
 
-    public DigitalTwinMockService() {
+    public DigitalTwinMockService(DigitalTwinLiveStateService liveState) {
+        this.liveState = liveState;
         initializeMockData();
     }
 
@@ -40,7 +39,7 @@ public class DigitalTwinMockService {
         createMockAsset("ASSET_004", "하나드림타운 D동", "BUILDING", "D동 1층", "EQ_D001", "승강기_D1", "WARNING");
         createMockAsset("ASSET_005", "하나드림타운 E동", "BUILDING", "E동 지하", "EQ_E001", "급수펌프_E1", "NORMAL");
         
-        log.info("===== Mock 데이터 {} 건 초기화 완료 =====", mockDataStore.size());
+        log.info("===== Mock 데이터 {} 건 초기화 완료 =====", liveState.size());
     }
 
     /**
@@ -49,7 +48,7 @@ public class DigitalTwinMockService {
     private void createMockAsset(String assetId, String assetName, String assetType, 
                                   String location, String equipmentId, String equipmentName, 
                                   String status) {
-        DigitalTwinDataDto data = DigitalTwinDataDto.builder()
+        AssetSnapshot data = AssetSnapshot.builder()
                 .assetId(assetId)
                 .assetName(assetName)
                 .assetType(assetType)
@@ -69,125 +68,84 @@ public class DigitalTwinMockService {
                 .lastUpdated(LocalDateTime.now())
                 .build();
         
-        mockDataStore.put(assetId, data);
-    }
-
-    /**
-     * 모든 디지털 트윈 데이터 조회
-     */
-    public List<DigitalTwinDataDto> getAllData() {
-        return new ArrayList<>(mockDataStore.values());
-    }
-
-    /**
-     * 특정 자산 데이터 조회
-     */
-    public Optional<DigitalTwinDataDto> getDataByAssetId(String assetId) {
-        return Optional.ofNullable(mockDataStore.get(assetId));
-    }
-
-    /**
-     * 자산 유형별 데이터 조회
-     */
-    public List<DigitalTwinDataDto> getDataByAssetType(String assetType) {
-        return mockDataStore.values().stream()
-                .filter(data -> data.getAssetType().equals(assetType))
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * 장비 상태별 데이터 조회
-     */
-    public List<DigitalTwinDataDto> getDataByStatus(String status) {
-        return mockDataStore.values().stream()
-                .filter(data -> data.getEquipmentStatus().equals(status))
-                .collect(Collectors.toList());
+        liveState.put(data);
     }
 
     /**
      * 센서값 업데이트 시뮬레이션 (1초 주기로 호출됨)
-     * 실제 DB에서는 트리거나 변경 감지로 처리될 부분
+     * 자산마다 새 스냅샷을 만들어 live-state에 교체 기록
+     * @return assetId → {field → {old, new}}
      */
     public Map<String, Object> updateSensorValues() {
         Map<String, Object> changes = new HashMap<>();
         
-        mockDataStore.values().forEach(data -> {
+        for (AssetSnapshot asset : liveState.getAllData()) {
             Map<String, Object> fieldChanges = new HashMap<>();
-            
-            // 온도 변경 (±0.5도 랜덤 변경)
-            double oldTemp = data.getTemperature();
-            double newTemp = oldTemp + (random.nextDouble() - 0.5);
-            if (Math.abs(newTemp - oldTemp) > 0.1) {
-                data.setTemperature(newTemp);
-                fieldChanges.put("temperature", Map.of("old", oldTemp, "new", newTemp));
-            }
-            
-            // 습도 변경 (±1% 랜덤 변경)
-            double oldHumidity = data.getHumidity();
-            double newHumidity = oldHumidity + (random.nextDouble() - 0.5) * 2;
-            if (Math.abs(newHumidity - oldHumidity) > 0.2) {
-                data.setHumidity(newHumidity);
-                fieldChanges.put("humidity", Map.of("old", oldHumidity, "new", newHumidity));
-            }
-            
-            // 전력 변경 (±5kW 랜덤 변경)
-            double oldPower = data.getPower();
-            double newPower = oldPower + (random.nextDouble() - 0.5) * 10;
-            if (Math.abs(newPower - oldPower) > 1.0) {
-                data.setPower(Math.max(0, newPower));
-                fieldChanges.put("power", Map.of("old", oldPower, "new", newPower));
-            }
-            
-            // 전압 변경
-            double oldVoltage = data.getVoltage();
-            double newVoltage = oldVoltage + (random.nextDouble() - 0.5) * 2;
-            if (Math.abs(newVoltage - oldVoltage) > 0.3) {
-                data.setVoltage(newVoltage);
-                fieldChanges.put("voltage", Map.of("old", oldVoltage, "new", newVoltage));
-            }
-            
-            // 전류 변경
-            double oldCurrent = data.getCurrent();
-            double newCurrent = oldCurrent + (random.nextDouble() - 0.5);
-            if (Math.abs(newCurrent - oldCurrent) > 0.1) {
-                data.setCurrent(Math.max(0, newCurrent));
-                fieldChanges.put("current", Map.of("old", oldCurrent, "new", newCurrent));
-            }
-            
-            // 효율 변경
-            double oldEfficiency = data.getEfficiency();
-            double newEfficiency = oldEfficiency + (random.nextDouble() - 0.5) * 2;
-            newEfficiency = Math.max(0, Math.min(100, newEfficiency));
-            if (Math.abs(newEfficiency - oldEfficiency) > 0.3) {
-                data.setEfficiency(newEfficiency);
-                fieldChanges.put("efficiency", Map.of("old", oldEfficiency, "new", newEfficiency));
-            }
-            
-            // 운영 시간 증가
-            data.setOperatingTime(data.getOperatingTime() + 1);
-            
-            // 마지막 업데이트 시각 갱신
-            data.setLastUpdated(LocalDateTime.now());
-            
+
+            liveState.update(asset.assetId(), data -> {
+                fieldChanges.clear();
+                AssetSnapshot.AssetSnapshotBuilder next = data.toBuilder();
+
+                // 온도 변경 (±0.5도 랜덤 변경)
+                double oldTemp = data.temperature();
+                double newTemp = oldTemp + (random.nextDouble() - 0.5);
+                if (Math.abs(newTemp - oldTemp) > 0.1) {
+                    next.temperature(newTemp);
+                    fieldChanges.put("temperature", Map.of("old", oldTemp, "new", newTemp));
+                }
+
+                // 습도 변경 (±1% 랜덤 변경)
+                double oldHumidity = data.humidity();
+                double newHumidity = oldHumidity + (random.nextDouble() - 0.5) * 2;
+                if (Math.abs(newHumidity - oldHumidity) > 0.2) {
+                    next.humidity(newHumidity);
+                    fieldChanges.put("humidity", Map.of("old", oldHumidity, "new", newHumidity));
+                }
+
+                // 전력 변경 (±5kW 랜덤 변경)
+                double oldPower = data.power();
+                double newPower = oldPower + (random.nextDouble() - 0.5) * 10;
+                if (Math.abs(newPower - oldPower) > 1.0) {
+                    next.power(Math.max(0, newPower));
+                    fieldChanges.put("power", Map.of("old", oldPower, "new", newPower));
+                }
+
+                // 전압 변경
+                double oldVoltage = data.voltage();
+                double newVoltage = oldVoltage + (random.nextDouble() - 0.5) * 2;
+                if (Math.abs(newVoltage - oldVoltage) > 0.3) {
+                    next.voltage(newVoltage);
+                    fieldChanges.put("voltage", Map.of("old", oldVoltage, "new", newVoltage));
+                }
+
+                // 전류 변경
+                double oldCurrent = data.current();
+                double newCurrent = oldCurrent + (random.nextDouble() - 0.5);
+                if (Math.abs(newCurrent - oldCurrent) > 0.1) {
+                    next.current(Math.max(0, newCurrent));
+                    fieldChanges.put("current", Map.of("old", oldCurrent, "new", newCurrent));
+                }
+
+                // 효율 변경
+                double oldEfficiency = data.efficiency();
+                double newEfficiency = oldEfficiency + (random.nextDouble() - 0.5) * 2;
+                newEfficiency = Math.max(0, Math.min(100, newEfficiency));
+                if (Math.abs(newEfficiency - oldEfficiency) > 0.3) {
+                    next.efficiency(newEfficiency);
+                    fieldChanges.put("efficiency", Map.of("old", oldEfficiency, "new", newEfficiency));
+                }
+
+                // 운영 시간 증가, 마지막 업데이트 시각 갱신
+                return next.operatingTime(data.operatingTime() + 1)
+                        .lastUpdated(LocalDateTime.now())
+                        .build();
+            });
+
             if (!fieldChanges.isEmpty()) {
-                changes.put(data.getAssetId(), fieldChanges);
+                changes.put(asset.assetId(), fieldChanges);
             }
-        });
+        }
         
         return changes;
     }
-
-    /**
-     * 특정 자산의 상태 변경
-     */
-    public boolean updateEquipmentStatus(String assetId, String newStatus) {
-        DigitalTwinDataDto data = mockDataStore.get(assetId);
-        if (data != null) {
-            data.setEquipmentStatus(newStatus);
-            data.setLastUpdated(LocalDateTime.now());
-            return true;
-        }
-        return false;
-    }
 }
-
@@ -1,20 +1,24 @@
 package com.mpole.hdt.digitaltwin.application.service;
 
-import com.mpole.hdt.digitaltwin.api.dto.DigitalTwinDataDto;
 import com.mpole.hdt.digitaltwin.api.dto.DigitalTwinUpdateDto;
+import com.mpole.hdt.digitaltwin.application.realtime.DeltaFrame;
+import com.mpole.hdt.digitaltwin.application.realtime.DeltaFrameAggregator;
+import com.mpole.hdt.digitaltwin.application.realtime.InterestSubscriptionRegistry;
+import com.mpole.hdt.digitaltwin.infrastructure.websocket.StompBroadcaster;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Map;
 
 /**
  * 디지털 트윈 실시간 데이터 전송 서비스
- * 1초 주기로 센서값 변경을 감지하고 WebSocket STOMP로 전송
+ * 변경 프레임은 RealtimeChangeDispatcher가 live-state 변경 즉시(micro-batch) publish() 호출
+ * 필드는 FieldRegistry의 숫자 ID로, 프레임마다 채널별 순번(seq) 포함
+ * 전체 데이터 주기 전송 없음: 클라이언트가 /pub/digitaltwin/sync 로 마지막 버전 이후 변경분 요청
+ * 전송이 밀린 세션은 대기 중인 프레임이 병합되어 전달 (프레임의 conflated = 병합된 이전 프레임 수)
  */
 @Slf4j
 @Service
@@ -22,71 +26,46 @@ import java.util.Map;
 public class DigitalTwinRealtimeService {
 
     private final DigitalTwinMockService mockService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final StompBroadcaster broadcaster;
+    private final InterestSubscriptionRegistry interestRegistry;
     
     private int updateCount = 0;
 
     /**
-     * 1초 주기로 센서 데이터 업데이트 및 전송
-     * fixedRate: 이전 작업 시작 시점부터 1000ms 후 실행
+     * 1초 주기 센서 데이터 시뮬레이션
+     * 값 변경은 live-state 변경 통지로 전송되므로 여기서는 시뮬레이션만 수행
      */
     //@Scheduled(fixedRate = 1000)
     public void pushSensorDataUpdates() {
         try {
             updateCount++;
-            
-            // Mock 서비스에서 센서값 업데이트 (변경 사항 반환)
             Map<String, Object> changes = mockService.updateSensorValues();
-            
-            // 변경이 있는 경우에만 전송
-            if (!changes.isEmpty()) {
-                // 각 자산별로 변경사항을 STOMP로 전송
-                changes.forEach((assetId, fieldChanges) -> {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Map<String, Object>> fields = (Map<String, Map<String, Object>>) fieldChanges;
-                    
-                    fields.forEach((fieldName, values) -> {
-                        DigitalTwinUpdateDto updateDto = DigitalTwinUpdateDto.builder()
-                                .assetId(assetId)
-                                .updateType("SENSOR_UPDATE")
-                                .fieldName(fieldName)
-                                .oldValue(values.get("old"))
-                                .newValue(values.get("new"))
-                                .timestamp(LocalDateTime.now())
-                                .build();
-                        
-                        // 개별 자산 채널로 전송
-                        messagingTemplate.convertAndSend("/sub/digitaltwin/" + assetId, updateDto);
-                    });
-                });
-                
-                // 전체 변경사항을 공통 채널로도 전송
-                messagingTemplate.convertAndSend("/sub/digitaltwin/updates", (Object) changes);
-                
-                log.debug("===== [{}회] 센서 데이터 업데이트 전송: {} 건 =====", updateCount, changes.size());
-            }
-            
-            // 10초마다 전체 데이터도 전송 (Unity에서 전체 동기화용)
-            if (updateCount % 10 == 0) {
-                pushAllData();
-            }
-            
+            log.debug("===== [{}회] 센서 데이터 시뮬레이션: {} 건 변경 =====", updateCount, changes.size());
         } catch (Exception e) {
-            log.error("실시간 데이터 전송 중 오류 발생", e);
+            log.error("센서 데이터 시뮬레이션 중 오류 발생", e);
         }
     }
 
     /**
-     * 전체 데이터 전송 (10초 주기)
+     * 병합된 변경 프레임 전송
      */
-    private void pushAllData() {
-        try {
-            List<DigitalTwinDataDto> allData = mockService.getAllData();
-            messagingTemplate.convertAndSend("/sub/digitaltwin/all", allData);
-            log.info("===== 전체 데이터 전송: {} 건 =====", allData.size());
-        } catch (Exception e) {
-            log.error("전체 데이터 전송 중 오류 발생", e);
+    public void publish(DeltaFrameAggregator.TickFrames frames) {
+        // 자산별 채널: 자산당 프레임 1건
+        for (DeltaFrame frame : frames.assetFrames()) {
+            broadcaster.broadcastConflatable("/sub/digitaltwin/" + frame.assetId(), frame);
+        }
+
+        // 공통 채널: 변경된 자산/필드만 담은 프레임 1건
+        broadcaster.broadcastConflatable("/sub/digitaltwin/updates", frames.global());
+
+        // 관심 영역 구독 세션: 영역 내 장비 변경분만 (영역별 1회 직렬화)
+        if (!interestRegistry.isEmpty()) {
+            for (InterestSubscriptionRegistry.RegionFrame region : interestRegistry.filter(frames.global())) {
+                broadcaster.sendToSessions(region.sessionIds(), "/sub/digitaltwin/interest", region.frame());
+            }
         }
+
+        log.debug("===== 실시간 변경 전송: {} 건 (seq={}) =====", frames.assetFrames().size(), frames.global().seq());
     }
 
     /**
@@ -103,11 +82,10 @@ public class DigitalTwinRealtimeService {
                     .timestamp(LocalDateTime.now())
                     .build();
             
-            // 개별 자산 채널로 전송
-            messagingTemplate.convertAndSend("/sub/digitaltwin/" + assetId, updateDto);
+            // 개별 자산 채널은 live-state 변경 통지로 다음 프레임에 포함
             
-            // 전체 상태 변경 채널로도 전송
-            messagingTemplate.convertAndSend("/sub/digitaltwin/status", updateDto);
+            // 전체 상태 변경 채널로 즉시 전송
+            broadcaster.broadcast("/sub/digitaltwin/status", updateDto);
             
             log.info("===== 상태 변경 이벤트 전송: {} ({} -> {}) =====", assetId, oldStatus, newStatus);
         } catch (Exception e) {
@@ -125,10 +103,10 @@ public class DigitalTwinRealtimeService {
 //                    "type", "HEARTBEAT",
 //                    "timestamp", LocalDateTime.now(),
 //                    "serverStatus", "RUNNING",
-//                    "activeDataCount", mockService.getAllData().size()
+//                    "activeDataCount", liveState.size()
 //            );
 //
-//            messagingTemplate.convertAndSend("/sub/digitaltwin/heartbeat", (Object) heartbeat);
+//            broadcaster.broadcast("/sub/digitaltwin/heartbeat", (Object) heartbeat);
 //            log.debug("===== Heartbeat 전송 =====");
 //        } catch (Exception e) {
 //            log.error("Heartbeat 전송 중 오류 발생", e);
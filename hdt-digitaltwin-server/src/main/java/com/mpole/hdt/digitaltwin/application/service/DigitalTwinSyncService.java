@@ -0,0 +1,38 @@
+package com.mpole.hdt.digitaltwin.application.service;
+
+import com.mpole.hdt.digitaltwin.application.realtime.SyncResponse;
+import com.mpole.hdt.digitaltwin.application.realtime.VersionedChangeLog;
+import com.mpole.hdt.digitaltwin.application.state.DigitalTwinLiveStateService;
+import com.mpole.hdt.digitaltwin.infrastructure.websocket.StompBroadcaster;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * 클라이언트 재동기화 (구독 시작/재접속 시)
+ * lastVersion 이후 변경 이력이 남아 있으면 변경분만, 아니면 전체 스냅샷
+ * lastVersion이 다른 노드 기준(node 불일치)이면 이 노드 이력으로 해석할 수 없으므로 전체 스냅샷
+ */
+@Service
+@RequiredArgsConstructor
+public class DigitalTwinSyncService {
+
+    private final VersionedChangeLog changeLog;
+    private final DigitalTwinLiveStateService liveState;
+    private final StompBroadcaster broadcaster;
+
+    /**
+     * @param node lastVersion 기준 노드 ID (null: 이 노드로 간주)
+     */
+    public SyncResponse sync(long lastVersion, String node) {
+        String localNode = broadcaster.nodeId();
+        long resolved = node == null || localNode.equals(node) ? lastVersion : -1;
+        return changeLog.since(resolved)
+                .map(deltas -> SyncResponse.delta(localNode,
+                        deltas.isEmpty() ? resolved : deltas.getLast().seq(), deltas))
+                .orElseGet(() -> {
+                    // 버전을 먼저 읽음: 스냅샷에 이미 반영된 변경이 이후 프레임으로 다시 와도 값 덮어쓰기라 무해
+                    long version = changeLog.currentVersion();
+                    return SyncResponse.snapshot(localNode, version, liveState.getAllData());
+                });
+    }
+}
@@ -0,0 +1,143 @@
+package com.mpole.hdt.digitaltwin.application.service;
+
+import com.mpole.hdt.digitaltwin.application.realtime.DeltaFrameAggregator;
+import com.mpole.hdt.digitaltwin.application.state.AssetSnapshot;
+import com.mpole.hdt.digitaltwin.application.state.DigitalTwinLiveStateService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 이벤트 기반 실시간 전송
+ * - live-state 변경 통지 → 바뀐 필드만 DeltaFrameAggregator에 기록 (자산/필드별 최신 값으로 병합되는 대기열)
+ * - 전송 스레드는 변경 신호를 받으면 batchWindow 동안 추가 변경을 모은 뒤 프레임 1회 전송
+ *   (batchWindow=0: 도착 즉시 전송, 대기열 크기는 자산 수 × 필드 수로 제한)
+ * - 장비 상태 변경은 대기열에 기록 후 전송 스레드가 /sub/digitaltwin/status 로 별도 전송
+ *   (변경 통지는 live-state 자산 잠금 안에서 호출되므로 리스너에서는 직렬화/전송하지 않음)
+ */
+@Slf4j
+@Component
+public class RealtimeChangeDispatcher implements SmartLifecycle {
+
+    private static final int STATUS_QUEUE_CAPACITY = 10_000;
+
+    private final DigitalTwinLiveStateService liveState;
+    private final DeltaFrameAggregator aggregator;
+    private final DigitalTwinRealtimeService realtimeService;
+    private final Duration batchWindow;
+    private final Timer delay;
+    private final Counter statusDropped;
+    private final BlockingQueue<StatusChange> statusChanges = new ArrayBlockingQueue<>(STATUS_QUEUE_CAPACITY);
+
+    private final Semaphore signal = new Semaphore(0);
+    private final AtomicLong firstPendingNanos = new AtomicLong();
+    private volatile boolean running = false;
+    private Thread worker;
+
+    public RealtimeChangeDispatcher(
+            DigitalTwinLiveStateService liveState,
+            DeltaFrameAggregator aggregator,
+            DigitalTwinRealtimeService realtimeService,
+            MeterRegistry meterRegistry,
+            @Value("${hdt.realtime.batch-window:50ms}") Duration batchWindow
+    ) {
+        this.liveState = liveState;
+        this.aggregator = aggregator;
+        this.realtimeService = realtimeService;
+        this.batchWindow = batchWindow;
+        this.delay = Timer.builder("hdt.realtime.dispatch.delay")
+                .description("첫 변경 기록부터 프레임 전송까지 지연")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.statusDropped = Counter.builder("hdt.realtime.status.dropped")
+                .description("전송 대기열 초과로 버린 상태 변경 이벤트 수")
+                .register(meterRegistry);
+        liveState.addChangeListener(this::onChange);
+    }
+
+    private void onChange(DigitalTwinLiveStateService.Change change) {
+        AssetSnapshot previous = change.previous();
+        AssetSnapshot current = change.current();
+        if (aggregator.record(previous, current) > 0) {
+            firstPendingNanos.compareAndSet(0, System.nanoTime());
+            signal.release();
+        }
+        if (previous != null && !Objects.equals(previous.equipmentStatus(), current.equipmentStatus())) {
+            if (statusChanges.offer(new StatusChange(current.assetId(), previous.equipmentStatus(), current.equipmentStatus()))) {
+                signal.release();
+            } else {
+                statusDropped.increment();
+            }
+        }
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                if (!signal.tryAcquire(200, TimeUnit.MILLISECONDS)) continue;
+                if (!batchWindow.isZero()) {
+                    Thread.sleep(batchWindow);
+                }
+                signal.drainPermits();
+                dispatch();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("실시간 프레임 전송 중 오류 발생", e);
+            }
+        }
+    }
+
+    private void dispatch() {
+        long first = firstPendingNanos.getAndSet(0);
+        aggregator.drain().ifPresent(frames -> {
+            realtimeService.publish(frames);
+            if (first != 0) delay.record(System.nanoTime() - first, TimeUnit.NANOSECONDS);
+        });
+        StatusChange status;
+        while ((status = statusChanges.poll()) != null) {
+            realtimeService.pushStatusChange(status.assetId(), status.oldStatus(), status.newStatus());
+        }
+    }
+
+    private record StatusChange(String assetId, String oldStatus, String newStatus) {
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform().name("realtime-dispatcher").daemon().start(this::dispatchLoop);
+        log.info("===== 실시간 이벤트 전송 시작 (batchWindow={}ms) =====", batchWindow.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
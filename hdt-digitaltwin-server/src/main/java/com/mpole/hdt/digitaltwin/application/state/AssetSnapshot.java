@@ -0,0 +1,41 @@
+package com.mpole.hdt.digitaltwin.application.state;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * 자산 현재 상태 스냅샷 (불변)
+ * 변경 시 toBuilder()로 새 스냅샷을 만들어 교체 (copy-on-write)
+ * JSON 형태는 DigitalTwinDataDto와 동일
+ */
+@Builder(toBuilder = true)
+public record AssetSnapshot(
+        // 자산 식별 정보
+        String assetId,
+        String assetName,
+        String assetType,
+        String location,
+
+        // 장비 데이터
+        String equipmentId,
+        String equipmentName,
+        String equipmentStatus,
+
+        // 센서 데이터
+        Double temperature,
+        Double humidity,
+        Double power,
+        Double voltage,
+        Double current,
+
+        // 운영 데이터
+        Boolean isOperating,
+        Integer operatingTime,
+        Double efficiency,
+
+        // 메타 정보
+        LocalDateTime timestamp,
+        LocalDateTime lastUpdated
+) {
+}
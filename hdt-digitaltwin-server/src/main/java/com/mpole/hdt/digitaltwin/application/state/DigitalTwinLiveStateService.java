@@ -0,0 +1,157 @@
+package com.mpole.hdt.digitaltwin.application.state;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * 디지털 트윈 현재 상태 저장소 (In-Memory)
+ * - 자산별 불변 AssetSnapshot을 통째로 교체 (직렬화 중인 객체가 바뀌지 않음)
+ * - 자산 유형/장비 상태 보조 인덱스로 조건 조회 시 전체 스캔 없음
+ * - 같은 자산에 대한 갱신은 ConcurrentHashMap.compute 로 직렬화
+ * - 등록/갱신마다 변경 리스너에 변경 전/후 스냅샷 통지 (실시간 전송은 이 통지로 구동)
+ * - 통지는 compute 안에서 수행 → 같은 자산의 변경은 반영 순서대로 리스너에 도달
+ */
+@Slf4j
+@Service
+public class DigitalTwinLiveStateService {
+
+    private final Map<String, AssetSnapshot> assets = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> byType = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> byStatus = new ConcurrentHashMap<>();
+    private final List<Consumer<Change>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 변경 리스너 등록
+     * 갱신한 스레드에서 자산 lock(compute) 안에서 호출되므로 블로킹 없이 빠르게 반환해야 하며,
+     * 리스너에서 이 서비스의 갱신 메서드를 다시 호출하면 안 됨
+     */
+    public void addChangeListener(Consumer<Change> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 자산 등록/교체
+     */
+    public void put(AssetSnapshot snapshot) {
+        assets.compute(snapshot.assetId(), (id, previous) -> {
+            reindex(previous, snapshot);
+            notifyListeners(new Change(previous, snapshot));
+            return snapshot;
+        });
+    }
+
+    /**
+     * 자산 갱신 (copy-on-write)
+     * @return 변경 전/후 스냅샷, 자산이 없으면 empty
+     */
+    public Optional<Change> update(String assetId, UnaryOperator<AssetSnapshot> updater) {
+        Change[] change = new Change[1];
+        assets.computeIfPresent(assetId, (id, previous) -> {
+            AssetSnapshot next = updater.apply(previous);
+            reindex(previous, next);
+            change[0] = new Change(previous, next);
+            notifyListeners(change[0]);
+            return next;
+        });
+        return Optional.ofNullable(change[0]);
+    }
+
+    /**
+     * 모든 디지털 트윈 데이터 조회
+     */
+    public List<AssetSnapshot> getAllData() {
+        return List.copyOf(assets.values());
+    }
+
+    /**
+     * 특정 자산 데이터 조회
+     */
+    public Optional<AssetSnapshot> getDataByAssetId(String assetId) {
+        return Optional.ofNullable(assets.get(assetId));
+    }
+
+    /**
+     * 자산 유형별 데이터 조회
+     */
+    public List<AssetSnapshot> getDataByAssetType(String assetType) {
+        return lookup(byType.get(assetType), s -> Objects.equals(s.assetType(), assetType));
+    }
+
+    /**
+     * 장비 상태별 데이터 조회
+     */
+    public List<AssetSnapshot> getDataByStatus(String status) {
+        return lookup(byStatus.get(status), s -> Objects.equals(s.equipmentStatus(), status));
+    }
+
+    /**
+     * 특정 자산의 상태 변경
+     */
+    public boolean updateEquipmentStatus(String assetId, String newStatus) {
+        return update(assetId, s -> s.toBuilder()
+                .equipmentStatus(newStatus)
+                .lastUpdated(LocalDateTime.now())
+                .build()).isPresent();
+    }
+
+    public int size() {
+        return assets.size();
+    }
+
+    private void notifyListeners(Change change) {
+        for (Consumer<Change> listener : listeners) {
+            try {
+                listener.accept(change);
+            } catch (RuntimeException e) {
+                log.error("live-state 변경 리스너 오류: {}", change.current().assetId(), e);
+            }
+        }
+    }
+
+    // 인덱스 갱신 중 조회가 겹칠 수 있으므로 결과는 스냅샷 값으로 한 번 더 확인
+    private List<AssetSnapshot> lookup(Set<String> ids, Predicate<AssetSnapshot> matches) {
+        if (ids == null || ids.isEmpty()) return Collections.emptyList();
+        List<AssetSnapshot> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            AssetSnapshot snapshot = assets.get(id);
+            if (snapshot != null && matches.test(snapshot)) result.add(snapshot);
+        }
+        return result;
+    }
+
+    private void reindex(AssetSnapshot previous, AssetSnapshot next) {
+        String prevType = previous != null ? previous.assetType() : null;
+        String prevStatus = previous != null ? previous.equipmentStatus() : null;
+        move(byType, next.assetId(), prevType, next.assetType());
+        move(byStatus, next.assetId(), prevStatus, next.equipmentStatus());
+    }
+
+    private static void move(Map<String, Set<String>> index, String assetId, String from, String to) {
+        if (Objects.equals(from, to)) return;
+        if (to != null) index.computeIfAbsent(to, k -> ConcurrentHashMap.newKeySet()).add(assetId);
+        if (from != null) {
+            Set<String> ids = index.get(from);
+            if (ids != null) ids.remove(assetId);
+        }
+    }
+
+    /**
+     * @param previous 변경 전 (신규 등록이면 null)
+     */
+    public record Change(AssetSnapshot previous, AssetSnapshot current) {
+    }
+}
@@ -0,0 +1,131 @@
+package com.mpole.hdt.digitaltwin.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * STOMP 브로커/전송 튜닝 설정
+ * hdt.websocket.*
+ */
+@Data
+@ConfigurationProperties(prefix = "hdt.websocket")
+public class WebSocketBrokerProperties {
+
+    /** false: 기본 설정(단일 heartbeat 스레드, 기본 executor, 세션 큐 없음) */
+    private boolean tuned = true;
+
+    private int heartbeatThreads = 2;
+
+    private Executor inbound = new Executor();
+
+    private Executor outbound = new Executor();
+
+    private Transport transport = new Transport();
+
+    private SessionQueue sessionQueue = new SessionQueue();
+
+    private Wire wire = new Wire();
+
+    private Compression compression = new Compression();
+
+    private Backplane backplane = new Backplane();
+
+    private Relay relay = new Relay();
+
+    @Data
+    public static class Executor {
+        /** 0: CPU 코어 수 * 2 */
+        private int corePoolSize = 0;
+        private int maxPoolSize = 0;
+        private int queueCapacity = 10000;
+    }
+
+    @Data
+    public static class Transport {
+        /** 수신 STOMP 메시지 최대 크기 */
+        private DataSize messageSizeLimit = DataSize.ofKilobytes(64);
+
+        /** 세션별 전송 대기 버퍼 상한 (초과 시 세션 종료) */
+        private DataSize sendBufferSizeLimit = DataSize.ofKilobytes(512);
+
+        /** 세션 1건 전송 최대 소요 시간 (초과 시 세션 종료) */
+        private Duration sendTimeLimit = Duration.ofSeconds(10);
+
+        /** 연결 후 첫 STOMP 프레임(CONNECT) 대기 시간 */
+        private Duration timeToFirstMessage = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class SessionQueue {
+        private boolean enabled = true;
+
+        /** 세션별 전송 대기 메시지 수 상한 */
+        private int capacity = 1000;
+
+        /** 대기열 초과/적체 시 처리 방식 */
+        private SlowConsumerPolicy policy = SlowConsumerPolicy.CONFLATE;
+
+        /** 세션 전송 전용 스레드 수 (0: CPU 코어 수) */
+        private int drainThreads = 0;
+
+        /** 한 번에 연속 전송할 메시지 수 (이후 다른 세션에 양보) */
+        private int drainBatch = 64;
+    }
+
+    @Data
+    public static class Wire {
+        /** CONNECT 헤더 accept-format: cbor 요청 세션에 CBOR 전송 허용 */
+        private boolean cborEnabled = true;
+    }
+
+    @Data
+    public static class Compression {
+        /** CONNECT 헤더 accept-encoding: deflate 요청 세션에 압축 전송 허용 */
+        private boolean enabled = true;
+
+        /** 이 크기 미만 payload는 압축하지 않음 */
+        private DataSize minSize = DataSize.ofKilobytes(1);
+
+        private int level = 6;
+    }
+
+    @Data
+    public static class Backplane {
+        /** none: 단일 노드, in-memory: 같은 JVM 내 노드 간 공유 (테스트용) */
+        private String type = "none";
+
+        /** 노드 ID (미지정 시 기동마다 랜덤) */
+        private String nodeId;
+
+        public String resolveNodeId() {
+            return (nodeId == null || nodeId.isBlank()) ? UUID.randomUUID().toString() : nodeId;
+        }
+    }
+
+    /**
+     * 외부 STOMP 브로커 relay (simple broker 대신 사용, 브로커가 노드 간 fan-out)
+     * 브로커는 /sub/... destination을 그대로 허용해야 함 (예: ActiveMQ Artemis)
+     */
+    @Data
+    public static class Relay {
+        private boolean enabled = false;
+        private String host = "localhost";
+        private int port = 61613;
+        private String virtualHost;
+        private String clientLogin = "guest";
+        private String clientPasscode = "guest";
+        private String systemLogin = "guest";
+        private String systemPasscode = "guest";
+    }
+
+    public enum SlowConsumerPolicy {
+        /** 가장 오래된 대기 메시지 폐기 */
+        DROP_OLDEST,
+        /** 같은 conflation key 대기 메시지를 최신 값으로 교체, 그래도 초과 시 가장 오래된 메시지 폐기 */
+        CONFLATE
+    }
+}
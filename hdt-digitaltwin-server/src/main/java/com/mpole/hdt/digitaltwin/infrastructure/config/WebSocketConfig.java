@@ -1,14 +1,27 @@
 package com.mpole.hdt.digitaltwin.infrastructure.config;
 
+import com.mpole.hdt.digitaltwin.infrastructure.websocket.CompressionInterceptor;
+import com.mpole.hdt.digitaltwin.infrastructure.websocket.OutboundMetricsInterceptor;
+import com.mpole.hdt.digitaltwin.infrastructure.websocket.SessionOutboundQueue;
+import com.mpole.hdt.digitaltwin.infrastructure.websocket.SockJsSessions;
+import com.mpole.hdt.digitaltwin.infrastructure.websocket.WireFormatInterceptor;
+import com.mpole.hdt.digitaltwin.infrastructure.websocket.backplane.BroadcastBackplane;
+import com.mpole.hdt.digitaltwin.infrastructure.websocket.backplane.InMemoryBroadcastBackplane;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 import org.springframework.web.socket.messaging.SessionConnectEvent;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 import org.springframework.web.socket.messaging.SessionSubscribeEvent;
@@ -20,17 +33,28 @@ import org.springframework.web.socket.messaging.SessionSubscribeEvent;
 @Slf4j
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
+@EnableConfigurationProperties(WebSocketBrokerProperties.class)
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final OutboundMetricsInterceptor outboundMetricsInterceptor;
+    private final SessionOutboundQueue sessionOutboundQueue;
+    private final WireFormatInterceptor wireFormatInterceptor;
+    private final CompressionInterceptor compressionInterceptor;
+    private final WebSocketBrokerProperties properties;
+
     /**
      * STOMP 엔드포인트 등록
      * Unity에서 연결할 WebSocket 엔드포인트 설정
+     * 전송 포맷: 기본 JSON, CONNECT 헤더 accept-format: cbor 지정 시 CBOR binary 프레임 (WireFormatInterceptor, SockJS 제외)
+     * 압축: CONNECT 헤더 accept-encoding: deflate 지정 시 일정 크기 이상만 deflate (CompressionInterceptor, SockJS 제외)
      */
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         // SockJS 지원 (브라우저 호환성)
         registry.addEndpoint("/stomp")
                 .setAllowedOriginPatterns("*")
+                .addInterceptors(new SockJsSessions())
                 .withSockJS();
         
         // 순수 WebSocket (Unity는 보통 이쪽 사용)
@@ -50,21 +74,101 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.setApplicationDestinationPrefixes("/pub");
         
         // 서버가 클라이언트로 메시지 보낼 때 prefix
-        // 심플 브로커 활성화 (인메모리 방식)
-        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
-        scheduler.setPoolSize(1);
-        scheduler.setThreadNamePrefix("wss-heartbeat-");
-        scheduler.initialize();
-        
-        registry.enableSimpleBroker("/sub")
-                .setHeartbeatValue(new long[]{10000, 10000}) // 10초마다 heartbeat
-                .setTaskScheduler(scheduler);
+        WebSocketBrokerProperties.Relay relay = properties.getRelay();
+        if (relay.isEnabled()) {
+            // 외부 브로커 relay (다중 인스턴스: 브로커가 모든 노드 구독자에게 전달)
+            registry.enableStompBrokerRelay("/sub")
+                    .setRelayHost(relay.getHost())
+                    .setRelayPort(relay.getPort())
+                    .setVirtualHost(relay.getVirtualHost())
+                    .setClientLogin(relay.getClientLogin())
+                    .setClientPasscode(relay.getClientPasscode())
+                    .setSystemLogin(relay.getSystemLogin())
+                    .setSystemPasscode(relay.getSystemPasscode())
+                    .setSystemHeartbeatSendInterval(10000)
+                    .setSystemHeartbeatReceiveInterval(10000);
+            log.info("STOMP broker relay: {}:{}", relay.getHost(), relay.getPort());
+        } else {
+            // 심플 브로커 활성화 (인메모리 방식)
+            ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+            scheduler.setPoolSize(properties.isTuned() ? Math.max(1, properties.getHeartbeatThreads()) : 1);
+            scheduler.setThreadNamePrefix("wss-heartbeat-");
+            scheduler.initialize();
+
+            registry.enableSimpleBroker("/sub")
+                    .setHeartbeatValue(new long[]{10000, 10000}) // 10초마다 heartbeat
+                    .setTaskScheduler(scheduler);
+        }
         
         log.info("===== 메시지 브로커 설정 완료 =====");
         log.info("Publisher prefix: /pub");
         log.info("Subscriber prefix: /sub");
     }
 
+    /**
+     * 같은 JVM 내 노드 간 브로드캐스트 공유 (테스트/단일 프로세스 다중 컨텍스트용)
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "hdt.websocket.backplane", name = "type", havingValue = "in-memory")
+    public BroadcastBackplane inMemoryBroadcastBackplane() {
+        return new InMemoryBroadcastBackplane();
+    }
+
+    /**
+     * 클라이언트 수신 채널 설정 (tuned: executor 크기 지정)
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        if (properties.isTuned()) {
+            configureExecutor(registration, properties.getInbound());
+        }
+    }
+
+    /**
+     * 클라이언트 전송 채널 설정
+     * - tuned: executor 크기 지정 + 세션별 전송 대기열 (느린 세션이 채널 스레드를 점유하지 않도록)
+     * - 세션 대기열 뒤에 포맷 변환(JSON/CBOR), 압축, 메트릭 인터셉터 순 (실제 전송 바이트만 집계)
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        if (properties.isTuned()) {
+            configureExecutor(registration, properties.getOutbound());
+            if (sessionOutboundQueue.isEnabled()) {
+                registration.interceptors(sessionOutboundQueue);
+            }
+        }
+        registration.interceptors(wireFormatInterceptor, compressionInterceptor, outboundMetricsInterceptor);
+    }
+
+    /**
+     * WebSocket 전송 설정 (tuned: 세션별 버퍼/전송 시간 상한, 초과 세션은 종료)
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        if (!properties.isTuned()) {
+            return;
+        }
+        WebSocketBrokerProperties.Transport transport = properties.getTransport();
+        registration.setMessageSizeLimit((int) transport.getMessageSizeLimit().toBytes())
+                .setSendBufferSizeLimit((int) transport.getSendBufferSizeLimit().toBytes())
+                .setSendTimeLimit((int) transport.getSendTimeLimit().toMillis())
+                .setTimeToFirstMessage((int) transport.getTimeToFirstMessage().toMillis());
+        if (sessionOutboundQueue.isEnabled()) {
+            // 세션 대기열 drain 전송 시간 상한 (SessionOutboundQueue 감시 스레드가 초과 세션 종료)
+            registration.addDecoratorFactory(sessionOutboundQueue::decorate);
+        }
+    }
+
+    private static void configureExecutor(ChannelRegistration registration, WebSocketBrokerProperties.Executor executor) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int core = executor.getCorePoolSize() > 0 ? executor.getCorePoolSize() : cores * 2;
+        int max = Math.max(core, executor.getMaxPoolSize() > 0 ? executor.getMaxPoolSize() : cores * 2);
+        registration.taskExecutor()
+                .corePoolSize(core)
+                .maxPoolSize(max)
+                .queueCapacity(executor.getQueueCapacity());
+    }
+
     /**
      * WebSocket 연결 성공 이벤트
      */
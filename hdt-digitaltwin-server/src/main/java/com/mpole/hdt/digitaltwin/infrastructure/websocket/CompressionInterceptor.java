@@ -0,0 +1,132 @@
+package com.mpole.hdt.digitaltwin.infrastructure.websocket;
+
+import com.mpole.hdt.digitaltwin.infrastructure.config.WebSocketBrokerProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+
+/**
+ * 세션별 payload 압축 (clientOutboundChannel 인터셉터, 포맷 변환 뒤)
+ * - CONNECT 프레임 헤더 accept-encoding: deflate 로 협상 (SockJS 세션은 binary 프레임 불가 → 협상 생략)
+ * - minSize 이상 payload만 raw deflate(SYNC_FLUSH) 압축 → binary 프레임 + content-encoding: deflate 헤더
+ *   (작은 변경분 프레임은 그대로 전송)
+ * - 세션마다 Deflater 1개 재사용, 세션 대기열 사용 시 압축 사전을 메시지 간 유지(context takeover)
+ *   → 클라이언트도 세션당 Inflater 1개로 수신 순서대로 해제해야 함
+ * - hdt.stomp.compression.bytes{destination,stage=raw|compressed}: 압축 대상 메시지의 압축 전/후 바이트
+ */
+@Slf4j
+@Component
+public class CompressionInterceptor implements ChannelInterceptor {
+
+    public static final String ACCEPT_ENCODING_HEADER = "accept-encoding";
+    public static final String CONTENT_ENCODING_HEADER = "content-encoding";
+
+    private final WebSocketBrokerProperties.Compression config;
+    private final boolean contextTakeover;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Deflater> deflaters = new ConcurrentHashMap<>();
+
+    public CompressionInterceptor(WebSocketBrokerProperties properties, MeterRegistry meterRegistry) {
+        this.config = properties.getCompression();
+        // 세션 대기열(drain)은 세션별 전송 순서를 보장 → 압축 사전 유지 가능
+        this.contextTakeover = properties.isTuned() && properties.getSessionQueue().isEnabled();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener
+    public void onConnect(SessionConnectEvent event) {
+        if (!config.isEnabled()) return;
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String requested = accessor.getFirstNativeHeader(ACCEPT_ENCODING_HEADER);
+        if (requested != null && requested.toLowerCase().contains("deflate")) {
+            if (SockJsSessions.isSockJs(event.getMessage())) {
+                log.info("[WebSocket] session {} requested deflate over SockJS, sending uncompressed", accessor.getSessionId());
+                return;
+            }
+            deflaters.put(accessor.getSessionId(), new Deflater(config.getLevel(), true));
+            log.info("[WebSocket] session {} uses deflate (contextTakeover={})", accessor.getSessionId(), contextTakeover);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Deflater deflater = deflaters.remove(event.getSessionId());
+        if (deflater != null) {
+            synchronized (deflater) {
+                deflater.end();
+            }
+        }
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (deflaters.isEmpty()
+                || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE
+                || !(message.getPayload() instanceof byte[] payload)
+                || payload.length < config.getMinSize().toBytes()) {
+            return message;
+        }
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        Deflater deflater = sessionId == null ? null : deflaters.get(sessionId);
+        if (deflater == null) {
+            return message;
+        }
+
+        byte[] compressed;
+        synchronized (deflater) {
+            if (!contextTakeover) deflater.reset();
+            compressed = deflate(deflater, payload);
+        }
+
+        String destination = StompDestinations.normalize(SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+        bytes(destination, "raw").increment(payload.length);
+        bytes(destination, "compressed").increment(compressed.length);
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        accessor.setNativeHeader(CONTENT_ENCODING_HEADER, "deflate");
+        if (accessor.getFirstNativeHeader(WireFormatInterceptor.FORMAT_HEADER) == null) {
+            accessor.setNativeHeader(WireFormatInterceptor.FORMAT_HEADER, "json");
+        }
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(compressed, accessor.getMessageHeaders());
+    }
+
+    private static byte[] deflate(Deflater deflater, byte[] input) {
+        deflater.setInput(input);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 4));
+        byte[] buffer = new byte[8192];
+        int n;
+        do {
+            n = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+            out.write(buffer, 0, n);
+        } while (n == buffer.length || !deflater.needsInput());
+        return out.toByteArray();
+    }
+
+    private Counter bytes(String destination, String stage) {
+        return Counter.builder("hdt.stomp.compression.bytes")
+                .description("압축 대상 메시지 압축 전/후 바이트")
+                .baseUnit("bytes")
+                .tag("destination", destination)
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+}
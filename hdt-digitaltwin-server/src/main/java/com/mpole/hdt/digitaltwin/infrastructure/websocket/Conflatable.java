@@ -0,0 +1,15 @@
+package com.mpole.hdt.digitaltwin.infrastructure.websocket;
+
+/**
+ * 세션 전송 대기열에서 병합 가능한 payload
+ * 같은 destination의 이전 프레임이 아직 전송 대기 중이면 최신 프레임과 병합하여 1건만 전송
+ * @param <T> 자기 자신 타입
+ */
+public interface Conflatable<T extends Conflatable<T>> {
+
+    /**
+     * @param newer 이후 생성된 프레임
+     * @return this 위에 newer를 덮어쓴 병합 프레임
+     */
+    T conflate(T newer);
+}
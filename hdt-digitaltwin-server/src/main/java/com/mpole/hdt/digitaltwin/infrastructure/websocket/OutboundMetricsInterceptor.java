@@ -0,0 +1,40 @@
+package com.mpole.hdt.digitaltwin.infrastructure.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * clientOutboundChannel 전송량 측정 (세션별 전송 1건마다 payload 바이트 집계)
+ * hdt.stomp.bytes.out{destination}, hdt.stomp.messages.out{destination}
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboundMetricsInterceptor implements ChannelInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE
+                && message.getPayload() instanceof byte[] payload) {
+            String destination = StompDestinations.normalize(SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+            Counter.builder("hdt.stomp.bytes.out")
+                    .baseUnit("bytes")
+                    .tag("destination", destination)
+                    .register(meterRegistry)
+                    .increment(payload.length);
+            Counter.builder("hdt.stomp.messages.out")
+                    .tag("destination", destination)
+                    .register(meterRegistry)
+                    .increment();
+        }
+        return message;
+    }
+}
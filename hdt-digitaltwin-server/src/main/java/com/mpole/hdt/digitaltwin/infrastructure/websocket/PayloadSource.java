@@ -0,0 +1,37 @@
+package com.mpole.hdt.digitaltwin.infrastructure.websocket;
+
+import java.util.function.Function;
+
+/**
+ * 브로드캐스트 메시지의 원본 payload 객체 (서버 내부 헤더, 클라이언트로 전송되지 않음)
+ * - 브로커가 구독 세션마다 헤더를 복사하므로 같은 인스턴스를 모든 세션이 공유
+ * - 세션 대기열 병합(Conflatable), 세션별 포맷 변환(CBOR)에 사용
+ * - 변환 결과는 포맷당 1회만 계산하여 공유
+ */
+public final class PayloadSource {
+
+    public static final String HEADER = "hdtPayloadSource";
+
+    private final Object value;
+    private volatile byte[] cbor;
+
+    public PayloadSource(Object value) {
+        this.value = value;
+    }
+
+    public Object value() {
+        return value;
+    }
+
+    /**
+     * CBOR 인코딩 (최초 요청 시 1회 계산, 동시 요청 시 중복 계산 가능하나 결과 동일)
+     */
+    public byte[] cbor(Function<Object, byte[]> encoder) {
+        byte[] encoded = cbor;
+        if (encoded == null) {
+            encoded = encoder.apply(value);
+            cbor = encoded;
+        }
+        return encoded;
+    }
+}
@@ -0,0 +1,357 @@
+package com.mpole.hdt.digitaltwin.infrastructure.websocket;
+
+import com.mpole.hdt.digitaltwin.infrastructure.config.WebSocketBrokerProperties;
+import com.mpole.hdt.digitaltwin.infrastructure.config.WebSocketBrokerProperties.SlowConsumerPolicy;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 세션별 전송 대기열 (clientOutboundChannel 인터셉터)
+ * - 브로커가 보낸 MESSAGE 프레임을 세션별 bounded 대기열에 넣고 채널 전송은 중단 (브로커/채널 스레드 즉시 반환)
+ * - 전용 drain 스레드가 세션 단위로 순서대로 꺼내 채널 구독자(SubProtocolWebSocketHandler)에 직접 전달
+ * - 느린 세션은 자기 대기열만 쌓이고, 상한 초과 시 policy에 따라 폐기/병합 → 다른 세션 전송에 영향 없음
+ * - CONNECTED/heartbeat/ERROR 등 MESSAGE 외 프레임은 기존 경로 그대로
+ * - 대기열은 CONNECTED(CONNECT_ACK) 전송 시 생성, 연결 종료 시 제거
+ *   (종료 후 도착한 MESSAGE는 대기열을 다시 만들지 않고 폐기)
+ * - CONFLATE: 같은 destination의 마지막 대기 메시지가 같은 conflation key면
+ *   전체 상태 payload는 교체, Conflatable payload(DeltaFrame 등)는 필드 단위 병합 후 해당 세션용으로만 재직렬화
+ * - 세션당 drain 스레드 1개만 전송하므로 ConcurrentWebSocketSessionDecorator의 시간/버퍼 상한은 거의 동작하지 않음
+ *   → 감시 스레드가 전송 중 시간이 transport.sendTimeLimit을 넘은 세션을 종료 (막힌 소켓이 drain 스레드를 계속 점유하지 않도록)
+ *   WebSocketSession은 decorate()로 등록한 핸들러 데코레이터가 세션 ID(= simpSessionId)별로 보관
+ */
+@Slf4j
+@Component
+public class SessionOutboundQueue implements ChannelInterceptor {
+
+    /** 같은 키의 대기 메시지는 최신 메시지로 교체 가능 (값 전체를 담은 payload에만 지정) */
+    public static final String CONFLATION_KEY_HEADER = "hdtConflationKey";
+
+    private static final long IDLE = Long.MIN_VALUE;
+
+    private final WebSocketBrokerProperties.SessionQueue config;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService drainExecutor;
+    private final ScheduledExecutorService watchdog;
+    private final long sendTimeLimitNanos;
+    private final Map<String, SessionQueue> sessions = new ConcurrentHashMap<>();
+    private final Map<String, WebSocketSession> webSocketSessions = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Counter dropped;
+    private final Counter replaced;
+    private final Counter conflated;
+    private final Counter closed;
+    private final Counter sendTimeouts;
+
+    public SessionOutboundQueue(WebSocketBrokerProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.config = properties.getSessionQueue();
+        this.objectMapper = objectMapper;
+        int threads = config.getDrainThreads() > 0 ? config.getDrainThreads() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadSeq = new AtomicInteger();
+        this.drainExecutor = Executors.newFixedThreadPool(threads,
+                r -> Thread.ofPlatform().name("ws-session-drain-" + threadSeq.incrementAndGet()).daemon().unstarted(r));
+        Duration sendTimeLimit = properties.getTransport().getSendTimeLimit();
+        this.sendTimeLimitNanos = sendTimeLimit.toNanos();
+        long checkMillis = Math.max(50, sendTimeLimit.toMillis() / 4);
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(
+                r -> Thread.ofPlatform().name("ws-session-watchdog").daemon().unstarted(r));
+        watchdog.scheduleWithFixedDelay(this::closeStalledSessions, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("hdt.stomp.session.queued", queued, AtomicInteger::get)
+                .description("세션 전송 대기 메시지 수 (전체)")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("hdt.stomp.session.discarded").tag("reason", "overflow").register(meterRegistry);
+        this.replaced = Counter.builder("hdt.stomp.session.discarded").tag("reason", "replaced").register(meterRegistry);
+        this.conflated = Counter.builder("hdt.stomp.session.discarded").tag("reason", "conflated").register(meterRegistry);
+        this.closed = Counter.builder("hdt.stomp.session.discarded").tag("reason", "closed").register(meterRegistry);
+        this.sendTimeouts = Counter.builder("hdt.stomp.session.send.timeout")
+                .description("전송 시간 상한 초과로 종료한 세션 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * WebSocket 핸들러 데코레이터 (WebSocketTransportRegistration.addDecoratorFactory): 전송 시간 초과 세션 종료용
+     */
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                webSocketSessions.put(session.getId(), session);
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                webSocketSessions.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (!config.isEnabled() || !(channel instanceof ExecutorSubscribableChannel outbound)) {
+            return message;
+        }
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId == null) {
+            return message;
+        }
+        // simple broker: CONNECT_ACK, broker relay: STOMP CONNECTED 프레임
+        if (type == SimpMessageType.CONNECT_ACK
+                || StompHeaderAccessor.getCommand(message.getHeaders()) == StompCommand.CONNECTED) {
+            sessions.putIfAbsent(sessionId, new SessionQueue(sessionId, outbound));
+            return message;
+        }
+        // MESSAGE 외 프레임(heartbeat, ERROR, RECEIPT 등)은 대기열을 거치지 않으므로
+        // 이미 대기 중인 MESSAGE보다 먼저 전송될 수 있음
+        if (type != SimpMessageType.MESSAGE) {
+            return message;
+        }
+
+        SessionQueue queue = sessions.get(sessionId);
+        if (queue == null) {
+            closed.increment();
+            return null;
+        }
+        queue.offer(message);
+        if (queue.scheduled.compareAndSet(false, true)) {
+            drainExecutor.execute(queue::drain);
+        }
+        return null;
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        SessionQueue queue = sessions.remove(event.getSessionId());
+        if (queue != null) {
+            queue.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        drainExecutor.shutdownNow();
+    }
+
+    /**
+     * 한 메시지 전송이 sendTimeLimit을 넘긴 세션: 대기열 제거 후 소켓 종료 (막힌 쓰기를 풀어 drain 스레드 반환)
+     */
+    void closeStalledSessions() {
+        long now = System.nanoTime();
+        for (SessionQueue queue : sessions.values()) {
+            long started = queue.sendStartedNanos;
+            if (started == IDLE || now - started <= sendTimeLimitNanos) continue;
+            if (!sessions.remove(queue.sessionId, queue)) continue;
+            queue.clear();
+            sendTimeouts.increment();
+            log.warn("[WebSocket] session send exceeded {}ms, closing sessionId={}",
+                    TimeUnit.NANOSECONDS.toMillis(sendTimeLimitNanos), queue.sessionId);
+            WebSocketSession session = webSocketSessions.get(queue.sessionId);
+            if (session != null) {
+                // close 자체도 막힌 쓰기를 기다릴 수 있으므로 감시 스레드 밖에서
+                Thread.ofVirtual().name("ws-session-close-" + queue.sessionId).start(() -> {
+                    try {
+                        session.close(CloseStatus.SESSION_NOT_RELIABLE);
+                    } catch (Exception e) {
+                        log.debug("[WebSocket] close failed sessionId={}: {}", queue.sessionId, e.toString());
+                    }
+                });
+            }
+        }
+    }
+
+    private final class SessionQueue {
+        final String sessionId;
+        final ExecutorSubscribableChannel channel;
+        final ArrayDeque<Message<?>> deque = new ArrayDeque<>();
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        // 구독자 전송 시작 시각 (IDLE: 전송 중 아님)
+        volatile long sendStartedNanos = IDLE;
+
+        SessionQueue(String sessionId, ExecutorSubscribableChannel channel) {
+            this.sessionId = sessionId;
+            this.channel = channel;
+        }
+
+        synchronized void offer(Message<?> message) {
+            if (config.getPolicy() == SlowConsumerPolicy.CONFLATE && conflate(message)) {
+                return;
+            }
+            if (deque.size() >= config.getCapacity()) {
+                deque.pollFirst();
+                queued.decrementAndGet();
+                dropped.increment();
+            }
+            deque.addLast(message);
+            queued.incrementAndGet();
+        }
+
+        /**
+         * 같은 destination의 마지막 대기 메시지와 conflation key가 같으면 제거 후 새(병합) 메시지를 끝에 추가
+         * (같은 destination 사이 순서를 유지하기 위해 마지막 대기 메시지만 대상)
+         */
+        private boolean conflate(Message<?> message) {
+            Object key = message.getHeaders().get(CONFLATION_KEY_HEADER);
+            if (key == null || deque.isEmpty()) return false;
+
+            String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+            Message<?> previous = null;
+            Iterator<Message<?>> it = deque.descendingIterator();
+            while (it.hasNext()) {
+                Message<?> candidate = it.next();
+                if (Objects.equals(destination, SimpMessageHeaderAccessor.getDestination(candidate.getHeaders()))) {
+                    previous = candidate;
+                    break;
+                }
+            }
+            if (previous == null || !key.equals(previous.getHeaders().get(CONFLATION_KEY_HEADER))) {
+                return false;
+            }
+
+            Message<?> replacement = merge(previous, message);
+            if (replacement == null) return false;
+
+            deque.removeLastOccurrence(previous);
+            deque.addLast(replacement);
+            (replacement == message ? replaced : conflated).increment();
+            return true;
+        }
+
+        /**
+         * @return 병합 메시지, 원본이 Conflatable이 아니면 새 메시지 그대로 (전체 상태 교체), 병합 불가 시 null
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Message<?> merge(Message<?> previous, Message<?> latest) {
+            Object older = sourceOf(previous);
+            Object newer = sourceOf(latest);
+            if (older == null || newer == null) {
+                // 원본 객체 없음 (다른 노드 발행분): 전체 상태만 교체, 변경분은 병합 불가
+                Object key = latest.getHeaders().get(CONFLATION_KEY_HEADER);
+                return key instanceof String k && k.endsWith(StompBroadcaster.STATE_KEY_SUFFIX) ? latest : null;
+            }
+            if (!(older instanceof Conflatable) && !(newer instanceof Conflatable)) {
+                return latest;
+            }
+            if (!(older instanceof Conflatable olderFrame) || older.getClass() != newer.getClass()) {
+                return null;
+            }
+
+            Object mergedFrame = olderFrame.conflate((Conflatable) newer);
+            try {
+                return MessageBuilder.withPayload(objectMapper.writeValueAsBytes(mergedFrame))
+                        .copyHeaders(latest.getHeaders())
+                        .setHeader(PayloadSource.HEADER, new PayloadSource(mergedFrame))
+                        .build();
+            } catch (JsonProcessingException e) {
+                log.warn("[WebSocket] conflated frame serialization failed sessionId={}: {}", sessionId, e.toString());
+                return null;
+            }
+        }
+
+        private static Object sourceOf(Message<?> message) {
+            return message.getHeaders().get(PayloadSource.HEADER) instanceof PayloadSource source ? source.value() : null;
+        }
+
+        synchronized Message<?> poll() {
+            Message<?> message = deque.pollFirst();
+            if (message != null) queued.decrementAndGet();
+            return message;
+        }
+
+        synchronized boolean isEmpty() {
+            return deque.isEmpty();
+        }
+
+        synchronized void clear() {
+            queued.addAndGet(-deque.size());
+            deque.clear();
+        }
+
+        /**
+         * drainBatch 건까지 전송 후 남아 있으면 재예약 (다른 세션에 스레드 양보)
+         */
+        void drain() {
+            try {
+                for (int i = 0; i < config.getDrainBatch(); i++) {
+                    Message<?> message = poll();
+                    if (message == null) break;
+                    deliver(message);
+                }
+            } finally {
+                scheduled.set(false);
+                if (!isEmpty() && sessions.get(sessionId) == this && scheduled.compareAndSet(false, true)) {
+                    drainExecutor.execute(this::drain);
+                }
+            }
+        }
+
+        /**
+         * 채널의 나머지 인터셉터(메트릭 등) 적용 후 구독자에 직접 전달
+         */
+        private void deliver(Message<?> message) {
+            List<ChannelInterceptor> interceptors = channel.getInterceptors();
+            Iterator<ChannelInterceptor> it = interceptors.iterator();
+            while (it.hasNext() && it.next() != SessionOutboundQueue.this) {
+                // 자신 이전 인터셉터는 이미 적용됨
+            }
+            while (it.hasNext() && message != null) {
+                message = it.next().preSend(message, channel);
+            }
+            if (message == null) return;
+
+            for (MessageHandler handler : channel.getSubscribers()) {
+                sendStartedNanos = System.nanoTime();
+                try {
+                    handler.handleMessage(message);
+                } catch (Exception e) {
+                    log.warn("[WebSocket] session send failed sessionId={}: {}", sessionId, e.toString());
+                } finally {
+                    sendStartedNanos = IDLE;
+                }
+            }
+        }
+    }
+}
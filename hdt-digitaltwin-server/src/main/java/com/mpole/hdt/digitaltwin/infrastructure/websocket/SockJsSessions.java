@@ -0,0 +1,37 @@
+package com.mpole.hdt.digitaltwin.infrastructure.websocket;
+
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Map;
+
+/**
+ * SockJS 세션 식별 (SockJS 엔드포인트 핸드셰이크에서 세션 속성 표시)
+ * - SockJS는 binary 프레임을 지원하지 않음 (octet-stream 페이로드도 text 프레임으로 전송)
+ * - CBOR/deflate 협상 시 SockJS 세션은 JSON 평문으로 유지
+ */
+public class SockJsSessions implements HandshakeInterceptor {
+
+    static final String ATTRIBUTE = "hdt.sockjs";
+
+    public static boolean isSockJs(Message<?> message) {
+        Map<String, Object> attributes = SimpMessageHeaderAccessor.getSessionAttributes(message.getHeaders());
+        return attributes != null && Boolean.TRUE.equals(attributes.get(ATTRIBUTE));
+    }
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        attributes.put(ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+}
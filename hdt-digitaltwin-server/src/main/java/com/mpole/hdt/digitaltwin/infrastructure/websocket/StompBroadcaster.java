@@ -0,0 +1,218 @@
+package com.mpole.hdt.digitaltwin.infrastructure.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mpole.hdt.digitaltwin.infrastructure.config.WebSocketBrokerProperties;
+import com.mpole.hdt.digitaltwin.infrastructure.websocket.backplane.BackplaneMessage;
+import com.mpole.hdt.digitaltwin.infrastructure.websocket.backplane.BroadcastBackplane;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * STOMP 브로드캐스트 (1회 직렬화)
+ * - payload를 JSON byte[]로 한 번만 직렬화하고, 같은 배열을 모든 destination/구독 세션에 공유
+ *   (convertAndSend 는 호출마다 Jackson 변환)
+ * - 직렬화 시간: hdt.stomp.serialize{destination}, 전송 바이트: OutboundMetricsInterceptor
+ * - backplane 설정 시 /sub 브로드캐스트는 직렬화된 byte[] 그대로 다른 노드에도 전달 (세션 지정 전송은 노드 내)
+ * - backplane 사용 시 /sub 프레임에 발행 노드 ID 헤더(hdt-origin) 추가: 프레임 seq는 발행 노드의 변경 이력 기준이므로
+ *   클라이언트는 접속 노드(sync 응답 node)와 같은 origin 프레임의 seq만 재동기화 요청에 사용
+ */
+@Slf4j
+@Component
+public class StompBroadcaster {
+
+    /** 전체 상태 payload 병합 키 접미사 (최신 메시지로 교체) */
+    public static final String STATE_KEY_SUFFIX = "#state";
+
+    /** 변경분 프레임 병합 키 접미사 (Conflatable 필드 단위 병합) */
+    public static final String DELTA_KEY_SUFFIX = "#delta";
+
+    /** 발행 노드 ID native 헤더 (backplane 사용 시) */
+    public static final String ORIGIN_HEADER = "hdt-origin";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final BroadcastBackplane backplane;
+    private final String nodeId;
+
+    @Autowired
+    public StompBroadcaster(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                            ObjectProvider<BroadcastBackplane> backplane, WebSocketBrokerProperties properties) {
+        this(messagingTemplate, objectMapper, meterRegistry, requireSingleFanOut(backplane.getIfAvailable(), properties),
+                properties.getBackplane().resolveNodeId());
+    }
+
+    public StompBroadcaster(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                            BroadcastBackplane backplane, String nodeId) {
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.backplane = backplane;
+        this.nodeId = nodeId;
+        if (backplane != null) {
+            backplane.subscribe(this::deliverRemote);
+            log.info("===== STOMP backplane 사용: node={} =====", nodeId);
+        }
+    }
+
+    /**
+     * relay 사용 시 외부 브로커가 이미 노드 간 fan-out → backplane까지 쓰면 구독자가 같은 메시지를 중복 수신
+     */
+    private static BroadcastBackplane requireSingleFanOut(BroadcastBackplane backplane, WebSocketBrokerProperties properties) {
+        if (backplane != null && properties.getRelay().isEnabled()) {
+            throw new IllegalStateException("hdt.websocket.relay.enabled=true cannot be combined with hdt.websocket.backplane.type="
+                    + properties.getBackplane().getType() + " (set backplane.type=none)");
+        }
+        return backplane;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public void broadcast(String destination, Object payload) {
+        broadcast(payload, List.of(destination));
+    }
+
+    /**
+     * 전체 상태 payload 전송: 세션 대기열에 같은 destination의 이전 메시지가 남아 있으면 최신 것으로 교체 가능
+     */
+    public void broadcastLatest(String destination, Object payload) {
+        SimpMessageHeaderAccessor accessor = originHeaders(headers(null, payload));
+        String key = destination + STATE_KEY_SUFFIX;
+        accessor.setHeader(SessionOutboundQueue.CONFLATION_KEY_HEADER, key);
+        byte[] json = serialize(destination, payload);
+        messagingTemplate.send(destination, MessageBuilder.createMessage(json, accessor.getMessageHeaders()));
+        replicate(destination, json, key);
+    }
+
+    /**
+     * 변경분 프레임 전송: 세션 대기열에 같은 destination의 이전 프레임이 남아 있으면 세션별로 병합 가능
+     */
+    public <T extends Conflatable<T>> void broadcastConflatable(String destination, T frame) {
+        SimpMessageHeaderAccessor accessor = originHeaders(headers(null, frame));
+        String key = destination + DELTA_KEY_SUFFIX;
+        accessor.setHeader(SessionOutboundQueue.CONFLATION_KEY_HEADER, key);
+        byte[] json = serialize(destination, frame);
+        messagingTemplate.send(destination, MessageBuilder.createMessage(json, accessor.getMessageHeaders()));
+        replicate(destination, json, key);
+    }
+
+    /**
+     * 한 번 직렬화한 payload를 여러 destination으로 전송
+     */
+    public void broadcast(Object payload, Collection<String> destinations) {
+        if (destinations.isEmpty()) return;
+        byte[] json = serialize(destinations.iterator().next(), payload);
+        PayloadSource source = new PayloadSource(payload);
+        for (String destination : destinations) {
+            messagingTemplate.send(destination, MessageBuilder.createMessage(json, originHeaders(headers(null, source)).getMessageHeaders()));
+            replicate(destination, json, null);
+        }
+    }
+
+    /**
+     * JSON 직렬화 (destination 태그별 시간 측정)
+     */
+    public byte[] serialize(String destination, Object payload) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("STOMP payload serialization failed: " + destination, e);
+        } finally {
+            sample.stop(Timer.builder("hdt.stomp.serialize")
+                    .description("STOMP payload JSON 직렬화 시간")
+                    .tag("destination", StompDestinations.normalize(destination))
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * 직렬화된 JSON 전송 (브로커가 구독 세션마다 같은 byte[] 참조)
+     */
+    public void send(String destination, byte[] json) {
+        messagingTemplate.send(destination, MessageBuilder.createMessage(json, originHeaders(headers(null, null)).getMessageHeaders()));
+        replicate(destination, json, null);
+    }
+
+    /**
+     * 다른 노드로 전달 (세션 지정 destination 제외)
+     */
+    private void replicate(String destination, byte[] json, String conflationKey) {
+        if (backplane != null && !destination.startsWith("/user/")) {
+            backplane.publish(new BackplaneMessage(nodeId, destination, json, conflationKey));
+        }
+    }
+
+    /**
+     * 다른 노드 발행 메시지를 이 노드 세션에 전송 (재직렬화 없음)
+     * 병합 키에 발행 노드 포함: 서로 다른 노드의 seq 프레임끼리 병합되지 않도록
+     */
+    private void deliverRemote(BackplaneMessage message) {
+        if (nodeId.equals(message.originNodeId())) return;
+        SimpMessageHeaderAccessor accessor = headers(null, null);
+        accessor.setNativeHeader(ORIGIN_HEADER, message.originNodeId());
+        if (message.conflationKey() != null) {
+            accessor.setHeader(SessionOutboundQueue.CONFLATION_KEY_HEADER, message.conflationKey() + "@" + message.originNodeId());
+        }
+        messagingTemplate.send(message.destination(), MessageBuilder.createMessage(message.payload(), accessor.getMessageHeaders()));
+    }
+
+    /**
+     * 특정 세션에만 전송 (클라이언트는 /user{destination} 구독)
+     */
+    public void sendToSession(String sessionId, String destination, Object payload) {
+        byte[] json = serialize("/user/" + sessionId + destination, payload);
+        messagingTemplate.send("/user/" + sessionId + destination,
+                MessageBuilder.createMessage(json, headers(sessionId, payload).getMessageHeaders()));
+    }
+
+    /**
+     * 여러 세션에 같은 변경분 프레임 전송 (1회 직렬화, 세션 대기열에서 병합 가능)
+     */
+    public <T extends Conflatable<T>> void sendToSessions(Collection<String> sessionIds, String destination, T frame) {
+        if (sessionIds.isEmpty()) return;
+        byte[] json = serialize("/user/" + sessionIds.iterator().next() + destination, frame);
+        PayloadSource source = new PayloadSource(frame);
+        for (String sessionId : sessionIds) {
+            SimpMessageHeaderAccessor accessor = headers(sessionId, source);
+            accessor.setHeader(SessionOutboundQueue.CONFLATION_KEY_HEADER, destination + DELTA_KEY_SUFFIX);
+            messagingTemplate.send("/user/" + sessionId + destination, MessageBuilder.createMessage(json, accessor.getMessageHeaders()));
+        }
+    }
+
+    private SimpMessageHeaderAccessor originHeaders(SimpMessageHeaderAccessor accessor) {
+        if (backplane != null) accessor.setNativeHeader(ORIGIN_HEADER, nodeId);
+        return accessor;
+    }
+
+    /**
+     * @param source 원본 payload (PayloadSource 또는 객체, null 가능)
+     */
+    private static SimpMessageHeaderAccessor headers(String sessionId, Object source) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        // 인증 Principal 없이 세션 ID를 user로 사용 (UserDestinationResolver가 해당 세션으로 한정)
+        if (sessionId != null) accessor.setSessionId(sessionId);
+        if (source != null) {
+            accessor.setHeader(PayloadSource.HEADER, source instanceof PayloadSource ps ? ps : new PayloadSource(source));
+        }
+        accessor.setLeaveMutable(true);
+        return accessor;
+    }
+}
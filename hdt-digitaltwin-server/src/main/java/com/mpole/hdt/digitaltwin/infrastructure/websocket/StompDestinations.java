@@ -0,0 +1,33 @@
+package com.mpole.hdt.digitaltwin.infrastructure.websocket;
+
+import java.util.Set;
+
+/**
+ * STOMP destination → 메트릭 태그 (자산 ID/세션 ID 제거로 태그 카디널리티 제한)
+ * - /sub/digitaltwin/ASSET_001      → /sub/digitaltwin/{assetId}
+ * - /user/{session}/sub/digitaltwin/sync → /user/sub/digitaltwin/sync
+ */
+public final class StompDestinations {
+
+    private static final String DIGITALTWIN_PREFIX = "/sub/digitaltwin/";
+    private static final Set<String> FIXED_CHANNELS = Set.of(
+            "all", "updates", "status", "error", "pong", "fields", "sync", "heartbeat", "interest"
+    );
+
+    private StompDestinations() {
+    }
+
+    public static String normalize(String destination) {
+        if (destination == null) return "none";
+
+        if (destination.startsWith("/user/")) {
+            int next = destination.indexOf('/', "/user/".length());
+            return next < 0 ? "/user" : "/user" + normalize(destination.substring(next));
+        }
+        if (destination.startsWith(DIGITALTWIN_PREFIX)) {
+            String channel = destination.substring(DIGITALTWIN_PREFIX.length());
+            return FIXED_CHANNELS.contains(channel) ? destination : DIGITALTWIN_PREFIX + "{assetId}";
+        }
+        return destination;
+    }
+}
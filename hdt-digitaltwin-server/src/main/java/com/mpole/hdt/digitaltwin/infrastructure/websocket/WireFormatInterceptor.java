@@ -0,0 +1,154 @@
+package com.mpole.hdt.digitaltwin.infrastructure.websocket;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mpole.hdt.digitaltwin.infrastructure.config.WebSocketBrokerProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 세션별 전송 포맷 변환 (clientOutboundChannel 인터셉터)
+ * - CONNECT 프레임 헤더 accept-format: cbor 로 협상, 미지정 시 JSON (기본)
+ * - SockJS 세션은 binary 프레임 불가 → 협상 거부, JSON 유지
+ * - CBOR 세션: content-type application/octet-stream (binary WebSocket 프레임) + hdt-format: cbor 헤더
+ * - 날짜/시간은 epoch millis 숫자, 실시간 프레임 필드는 기존 숫자 ID 그대로
+ * - 원본 객체(PayloadSource)가 있으면 메시지당 1회만 인코딩하여 CBOR 세션끼리 공유, 없으면 JSON → CBOR 변환
+ */
+@Slf4j
+@Component
+public class WireFormatInterceptor implements ChannelInterceptor {
+
+    public static final String ACCEPT_FORMAT_HEADER = "accept-format";
+    public static final String FORMAT_HEADER = "hdt-format";
+
+    private final boolean cborEnabled;
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, WireFormat> sessionFormats = new ConcurrentHashMap<>();
+
+    public enum WireFormat {
+        JSON,
+        CBOR
+    }
+
+    public WireFormatInterceptor(WebSocketBrokerProperties properties, ObjectMapper jsonMapper, MeterRegistry meterRegistry) {
+        this.cborEnabled = properties.getWire().isCborEnabled();
+        this.jsonMapper = jsonMapper;
+        this.meterRegistry = meterRegistry;
+        this.cborMapper = CBORMapper.builder()
+                .addModule(new JavaTimeModule())
+                .addModule(new SimpleModule().addSerializer(LocalDateTime.class, new EpochMillisSerializer()))
+                .enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS)
+                .build();
+    }
+
+    @EventListener
+    public void onConnect(SessionConnectEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String requested = accessor.getFirstNativeHeader(ACCEPT_FORMAT_HEADER);
+        if (cborEnabled && requested != null && "cbor".equalsIgnoreCase(requested.trim())) {
+            if (SockJsSessions.isSockJs(event.getMessage())) {
+                log.info("[WebSocket] session {} requested CBOR over SockJS, using JSON", accessor.getSessionId());
+                return;
+            }
+            sessionFormats.put(accessor.getSessionId(), WireFormat.CBOR);
+            log.info("[WebSocket] session {} uses CBOR wire format", accessor.getSessionId());
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        sessionFormats.remove(event.getSessionId());
+    }
+
+    public WireFormat formatOf(String sessionId) {
+        return sessionId == null ? WireFormat.JSON : sessionFormats.getOrDefault(sessionId, WireFormat.JSON);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (sessionFormats.isEmpty()
+                || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE
+                || !(message.getPayload() instanceof byte[] json)) {
+            return message;
+        }
+        if (formatOf(SimpMessageHeaderAccessor.getSessionId(message.getHeaders())) != WireFormat.CBOR) {
+            return message;
+        }
+
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        byte[] cbor;
+        try {
+            cbor = (message.getHeaders().get(PayloadSource.HEADER) instanceof PayloadSource source)
+                    ? source.cbor(value -> encode(destination, value))
+                    : encode(destination, jsonMapper.readTree(json));
+        } catch (IOException | RuntimeException e) {
+            log.warn("[WebSocket] CBOR encoding failed destination={}, sending JSON: {}", destination, e.toString());
+            return message;
+        }
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        accessor.setNativeHeader(FORMAT_HEADER, "cbor");
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(cbor, accessor.getMessageHeaders());
+    }
+
+    /**
+     * CBOR 인코딩 (hdt.stomp.serialize.cbor{destination})
+     */
+    private byte[] encode(String destination, Object value) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return cborMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("CBOR serialization failed: " + destination, e);
+        } finally {
+            sample.stop(Timer.builder("hdt.stomp.serialize.cbor")
+                    .description("STOMP payload CBOR 직렬화 시간")
+                    .tag("destination", StompDestinations.normalize(destination))
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * LocalDateTime → epoch millis (서버 시간대 기준)
+     */
+    private static final class EpochMillisSerializer extends StdSerializer<LocalDateTime> {
+        EpochMillisSerializer() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeNumber(value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+}
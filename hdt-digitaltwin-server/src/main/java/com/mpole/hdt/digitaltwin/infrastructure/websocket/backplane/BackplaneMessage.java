@@ -0,0 +1,16 @@
+package com.mpole.hdt.digitaltwin.infrastructure.websocket.backplane;
+
+/**
+ * 노드 간 전달 메시지
+ * @param originNodeId   발행 노드 ID
+ * @param destination    STOMP destination (/sub/...)
+ * @param payload        직렬화된 JSON
+ * @param conflationKey  세션 대기열 병합 키 (없으면 null)
+ */
+public record BackplaneMessage(
+        String originNodeId,
+        String destination,
+        byte[] payload,
+        String conflationKey
+) {
+}
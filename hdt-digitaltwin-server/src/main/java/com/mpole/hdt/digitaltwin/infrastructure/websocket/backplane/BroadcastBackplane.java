@@ -0,0 +1,22 @@
+package com.mpole.hdt.digitaltwin.infrastructure.websocket.backplane;
+
+import java.util.function.Consumer;
+
+/**
+ * 인스턴스 간 브로드캐스트 공유 (클러스터 모드)
+ * - 발행 노드가 1회 직렬화한 payload를 다른 노드에 전달, 각 노드는 자기 세션에만 전송
+ * - 구현체: InMemoryBroadcastBackplane (같은 JVM 내 노드 간, 테스트용)
+ *   외부 메시징(Redis pub/sub, Kafka 등) 구현체는 이 인터페이스로 추가
+ */
+public interface BroadcastBackplane {
+
+    /**
+     * 다른 노드로 전달 (자기 노드 메시지는 수신 측에서 무시)
+     */
+    void publish(BackplaneMessage message);
+
+    /**
+     * 수신 리스너 등록 (모든 노드의 발행 메시지 수신)
+     */
+    void subscribe(Consumer<BackplaneMessage> listener);
+}
@@ -0,0 +1,33 @@
+package com.mpole.hdt.digitaltwin.infrastructure.websocket.backplane;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 같은 JVM 내 backplane (loopback)
+ * 인스턴스 하나를 여러 노드(StompBroadcaster)가 공유하면 노드 간 전달, 발행 스레드에서 동기 호출
+ */
+@Slf4j
+public class InMemoryBroadcastBackplane implements BroadcastBackplane {
+
+    private final List<Consumer<BackplaneMessage>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(BackplaneMessage message) {
+        for (Consumer<BackplaneMessage> listener : listeners) {
+            try {
+                listener.accept(message);
+            } catch (RuntimeException e) {
+                log.warn("[Backplane] listener failed destination={}: {}", message.destination(), e.toString());
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<BackplaneMessage> listener) {
+        listeners.add(listener);
+    }
+}
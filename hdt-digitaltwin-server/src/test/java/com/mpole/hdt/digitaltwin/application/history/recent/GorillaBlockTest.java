@@ -0,0 +1,93 @@
+package com.mpole.hdt.digitaltwin.application.history.recent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GorillaBlockTest {
+
+    @Test
+    void regularSeriesRoundTripsAndCompresses() {
+        GorillaBlock block = new GorillaBlock(512);
+        long start = 1_760_000_000_000L;
+        List<long[]> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            long ts = start + i * 1000L;
+            double value = 22.5;
+            assertThat(block.append(ts, value)).isTrue();
+            expected.add(new long[]{ts, Double.doubleToRawLongBits(value)});
+        }
+
+        assertThat(decode(block, Long.MIN_VALUE, Long.MAX_VALUE)).containsExactlyElementsOf(expected);
+        // 둘째 점은 첫 delta(1000ms) 기록 '1110'+12bit + 값 1bit, 이후 일정 주기 + 같은 값은 점당 2bit
+        assertThat(block.usedBits()).isEqualTo(128 + 17 + 998 * 2);
+    }
+
+    @Test
+    void irregularTimestampsAndSpecialValuesRoundTrip() {
+        GorillaBlock block = new GorillaBlock(1024);
+        Random random = new Random(42);
+        double[] specials = {0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                Double.MIN_VALUE, Double.MAX_VALUE, -1.0};
+        long ts = 1_760_000_000_000L;
+        List<long[]> expected = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            // 동일 시각, 작은/큰 지터, 수 시간 공백 섞기
+            ts += switch (i % 5) {
+                case 0 -> 0;
+                case 1 -> 1000 + random.nextInt(50);
+                case 2 -> random.nextInt(4000);
+                case 3 -> 3_600_000L * (1 + random.nextInt(48));
+                default -> 1;
+            };
+            double value = (i % 7 == 0) ? specials[i % specials.length] : random.nextGaussian() * 1000;
+            assertThat(block.append(ts, value)).isTrue();
+            expected.add(new long[]{ts, Double.doubleToRawLongBits(value)});
+        }
+
+        assertThat(decode(block, Long.MIN_VALUE, Long.MAX_VALUE)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void rangeQueryReturnsHalfOpenWindow() {
+        GorillaBlock block = new GorillaBlock(64);
+        for (int i = 0; i < 10; i++) {
+            block.append(i * 10L, i);
+        }
+
+        List<long[]> points = decode(block, 20, 50);
+
+        assertThat(points).extracting(p -> p[0]).containsExactly(20L, 30L, 40L);
+        assertThat(decode(block, 100, 200)).isEmpty();
+    }
+
+    @Test
+    void appendFailsWhenFullAndResetReusesBlock() {
+        GorillaBlock block = new GorillaBlock(8);
+        Random random = new Random(7);
+        int appended = 0;
+        while (block.append(1000L * appended, random.nextDouble())) {
+            appended++;
+        }
+
+        assertThat(appended).isGreaterThan(1);
+        assertThat(block.count()).isEqualTo(appended);
+        assertThat(block.usedBits()).isLessThanOrEqualTo(8 * 64);
+
+        block.reset();
+        assertThat(block.count()).isZero();
+        assertThat(block.append(5L, 1.5)).isTrue();
+        assertThat(decode(block, Long.MIN_VALUE, Long.MAX_VALUE))
+                .containsExactly(new long[]{5L, Double.doubleToRawLongBits(1.5)});
+    }
+
+    private static List<long[]> decode(GorillaBlock block, long from, long to) {
+        List<long[]> points = new ArrayList<>();
+        block.forEach(from, to, (ts, value) -> points.add(new long[]{ts, Double.doubleToRawLongBits(value)}));
+        return points;
+    }
+}
@@ -0,0 +1,61 @@
+package com.mpole.hdt.digitaltwin.application.history.recent;
+
+import com.mpole.hdt.digitaltwin.application.history.HistorySample;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecentHistoryBufferTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private long ts = 1_760_000_000_000L;
+
+    @Test
+    void leastRecentlyWrittenSeriesIsEvictedAtTheLimit() throws InterruptedException {
+        RecentHistoryBuffer buffer = buffer(2, Duration.ofMinutes(30));
+        record(buffer, "a");
+        record(buffer, "b");
+        record(buffer, "a");
+        record(buffer, "c");
+
+        assertThat(buffer.coverageStart(1L, List.of("a"))).isPresent();
+        assertThat(buffer.coverageStart(1L, List.of("b"))).isEmpty();
+        assertThat(buffer.coverageStart(1L, List.of("c"))).isPresent();
+        assertThat(registry.get("hdt.history.recent.series").gauge().value()).isEqualTo(2);
+        assertThat(registry.get("hdt.history.recent.evicted").tag("reason", "lru").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void idleSeriesAreEvicted() throws InterruptedException {
+        RecentHistoryBuffer buffer = buffer(8, Duration.ZERO);
+        record(buffer, "a");
+        Thread.sleep(2);
+
+        buffer.evictIdle();
+
+        assertThat(buffer.coverageStart(1L, null)).isEmpty();
+        assertThat(registry.get("hdt.history.recent.series").gauge().value()).isZero();
+        assertThat(registry.get("hdt.history.recent.bytes").gauge().value()).isZero();
+    }
+
+    private RecentHistoryBuffer buffer(int maxSeries, Duration idleTimeout) {
+        return new RecentHistoryBuffer(registry, true, DataSize.ofBytes(64), 2, maxSeries, idleTimeout);
+    }
+
+    // 시리즈 간 마지막 기록 시각이 구분되도록 간격을 둠
+    private void record(RecentHistoryBuffer buffer, String key) throws InterruptedException {
+        ts += 1000;
+        buffer.record(new HistorySample(1L, OffsetDateTime.ofInstant(Instant.ofEpochMilli(ts), ZoneOffset.UTC),
+                null, null, Map.of(key, 1.0), null, null, null, HistorySample.QUALITY_GOOD));
+        Thread.sleep(1);
+    }
+}
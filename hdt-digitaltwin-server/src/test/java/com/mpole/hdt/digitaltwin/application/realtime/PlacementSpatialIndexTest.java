@@ -0,0 +1,50 @@
+package com.mpole.hdt.digitaltwin.application.realtime;
+
+import com.mpole.hdt.digitaltwin.application.repository.DevicePlacementRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PlacementSpatialIndexTest {
+
+    private final PlacementSpatialIndex index = new PlacementSpatialIndex(mock(DevicePlacementRepository.class), 10f);
+
+    @BeforeEach
+    void setUp() {
+        put("A", "1F", 5, 0, 5);
+        put("B", "1F", 25, 0, 5);
+        put("C", "2F", 5, 0, 5);
+        put("D", null, -5, 0, -5);
+    }
+
+    @Test
+    void boxQueryLooksUpOverlappingCellsPerFloor() {
+        // 박스가 격자 1칸: floor별 CellKey 조회 (floor 미지정 시 null floor 포함 전체 floor)
+        assertThat(index.query(box("1F", 1, 0, 1, 9, 9, 9))).containsExactly("A");
+        assertThat(index.query(box(null, 1, 0, 1, 9, 9, 9))).containsExactlyInAnyOrder("A", "C");
+        assertThat(index.query(box(null, -9, 0, -9, -1, 9, -1))).containsExactly("D");
+    }
+
+    @Test
+    void boxLargerThanOccupiedCellsScansCells() {
+        assertThat(index.query(box(null, -1e6f, -1e6f, -1e6f, 1e6f, 1e6f, 1e6f)))
+                .containsExactlyInAnyOrder("A", "B", "C", "D");
+    }
+
+    @Test
+    void removedEntriesAreNotReturned() {
+        index.put("A", null);
+        assertThat(index.query(box("1F", 0, 0, 0, 30, 10, 10))).containsExactly("B");
+    }
+
+    private void put(String code, String floor, float x, float y, float z) {
+        index.put(code, new PlacementSpatialIndex.Entry(code, floor, null, x, y, z));
+    }
+
+    private static InterestRegion box(String floor, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        return new InterestRegion(floor, null,
+                new InterestRegion.Vector3(minX, minY, minZ), new InterestRegion.Vector3(maxX, maxY, maxZ));
+    }
+}
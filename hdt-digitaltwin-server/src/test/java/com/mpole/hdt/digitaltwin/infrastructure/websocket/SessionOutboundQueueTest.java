@@ -0,0 +1,189 @@
+package com.mpole.hdt.digitaltwin.infrastructure.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mpole.hdt.digitaltwin.infrastructure.config.WebSocketBrokerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SessionOutboundQueueTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final WebSocketBrokerProperties properties = new WebSocketBrokerProperties();
+    private SessionOutboundQueue queue;
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null) queue.shutdown();
+    }
+
+    @Test
+    void blockedSessionIsClosedAndOtherSessionsKeepReceiving() throws Exception {
+        properties.getTransport().setSendTimeLimit(Duration.ofMillis(200));
+        properties.getSessionQueue().setDrainThreads(1);
+        queue = new SessionOutboundQueue(properties, new ObjectMapper(), registry);
+
+        // "slow" 세션 전송은 소켓이 닫힐 때까지 막힘 (drain 스레드 1개 점유)
+        CountDownLatch socketClosed = new CountDownLatch(1);
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        ExecutorSubscribableChannel channel = channel(message -> {
+            String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+            if ("slow".equals(sessionId)) socketClosed.await();
+            delivered.add(sessionId);
+        });
+        WebSocketSession slow = mock(WebSocketSession.class);
+        when(slow.getId()).thenReturn("slow");
+        doAnswer(invocation -> {
+            socketClosed.countDown();
+            return null;
+        }).when(slow).close(any(CloseStatus.class));
+        queue.decorate(mock(WebSocketHandler.class)).afterConnectionEstablished(slow);
+
+        channel.send(connectAck("slow"));
+        channel.send(connectAck("fast"));
+        channel.send(message("slow", "/sub/digitaltwin/updates"));
+        channel.send(message("fast", "/sub/digitaltwin/updates"));
+
+        verify(slow, timeout(5000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(socketClosed.await(5, TimeUnit.SECONDS)).isTrue();
+        waitUntil(() -> delivered.contains("fast"));
+        assertThat(registry.get("hdt.stomp.session.send.timeout").counter().count()).isEqualTo(1);
+
+        // 종료된 세션의 이후 메시지는 대기열을 다시 만들지 않고 폐기
+        channel.send(message("slow", "/sub/digitaltwin/updates"));
+        assertThat(registry.get("hdt.stomp.session.discarded").tag("reason", "closed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void conflatesOnlyWithTheLastPendingMessageOfTheSameDestination() throws Exception {
+        properties.getSessionQueue().setDrainThreads(1);
+        queue = new SessionOutboundQueue(properties, new ObjectMapper(), registry);
+
+        // 첫 메시지 전송을 막아 두고 나머지를 대기열에 쌓음
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Message<?>> delivered = new CopyOnWriteArrayList<>();
+        ExecutorSubscribableChannel channel = channel(message -> {
+            if (delivered.isEmpty()) {
+                sending.countDown();
+                release.await();
+            }
+            delivered.add(message);
+        });
+        channel.send(connectAck("s"));
+        channel.send(message("s", "/sub/a"));
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 전체 상태: 교체
+        channel.send(keyed("/sub/a", "/sub/a" + StompBroadcaster.STATE_KEY_SUFFIX, "v1"));
+        channel.send(keyed("/sub/a", "/sub/a" + StompBroadcaster.STATE_KEY_SUFFIX, "v2"));
+        // 변경분: 병합
+        channel.send(keyed("/sub/b", "/sub/b" + StompBroadcaster.DELTA_KEY_SUFFIX, new Values(Map.of("x", 1, "y", 1))));
+        channel.send(keyed("/sub/b", "/sub/b" + StompBroadcaster.DELTA_KEY_SUFFIX, new Values(Map.of("y", 2))));
+        // 같은 destination의 마지막 대기 메시지가 다른 키면 그 앞의 같은 키와는 병합하지 않음
+        channel.send(message("s", "/sub/b"));
+        channel.send(keyed("/sub/b", "/sub/b" + StompBroadcaster.DELTA_KEY_SUFFIX, new Values(Map.of("z", 3))));
+        release.countDown();
+
+        waitUntil(() -> delivered.size() == 5);
+        assertThat(delivered).extracting(SessionOutboundQueueTest::source).containsExactly(
+                null,
+                "v2",
+                new Values(Map.of("x", 1, "y", 2)),
+                null,
+                new Values(Map.of("z", 3)));
+        // 병합 프레임은 이 세션용으로 재직렬화
+        ObjectMapper mapper = new ObjectMapper();
+        assertThat(mapper.readTree((byte[]) delivered.get(2).getPayload()))
+                .isEqualTo(mapper.valueToTree(new Values(Map.of("x", 1, "y", 2))));
+        assertThat(registry.get("hdt.stomp.session.discarded").tag("reason", "replaced").counter().count()).isEqualTo(1);
+        assertThat(registry.get("hdt.stomp.session.discarded").tag("reason", "conflated").counter().count()).isEqualTo(1);
+    }
+
+    private ExecutorSubscribableChannel channel(ThrowingHandler handler) {
+        ExecutorSubscribableChannel channel = new ExecutorSubscribableChannel();
+        channel.addInterceptor(queue);
+        channel.subscribe(message -> {
+            if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) return;
+            try {
+                handler.handle(message);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        return channel;
+    }
+
+    private static Message<byte[]> connectAck(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT_ACK);
+        accessor.setSessionId(sessionId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    static Message<byte[]> message(String sessionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage("{}".getBytes(), accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> keyed(String destination, String conflationKey, Object source) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId("s");
+        accessor.setDestination(destination);
+        accessor.setHeader(SessionOutboundQueue.CONFLATION_KEY_HEADER, conflationKey);
+        accessor.setHeader(PayloadSource.HEADER, new PayloadSource(source));
+        return MessageBuilder.createMessage("{}".getBytes(), accessor.getMessageHeaders());
+    }
+
+    private static Object source(Message<?> message) {
+        return message.getHeaders().get(PayloadSource.HEADER) instanceof PayloadSource source ? source.value() : null;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private record Values(Map<String, Integer> values) implements Conflatable<Values> {
+        @Override
+        public Values conflate(Values newer) {
+            Map<String, Integer> merged = new TreeMap<>(values);
+            merged.putAll(newer.values());
+            return new Values(merged);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowingHandler {
+        void handle(Message<?> message) throws InterruptedException;
+    }
+}
@@ -0,0 +1,78 @@
+package com.mpole.hdt.digitaltwin.infrastructure.websocket.backplane;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mpole.hdt.digitaltwin.infrastructure.websocket.SessionOutboundQueue;
+import com.mpole.hdt.digitaltwin.infrastructure.websocket.StompBroadcaster;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class InMemoryBroadcastBackplaneTest {
+
+    private final InMemoryBroadcastBackplane backplane = new InMemoryBroadcastBackplane();
+    private final SimpMessagingTemplate templateA = mock(SimpMessagingTemplate.class);
+    private final SimpMessagingTemplate templateB = mock(SimpMessagingTemplate.class);
+    private final StompBroadcaster nodeA = node(templateA, "node-a");
+    private final StompBroadcaster nodeB = node(templateB, "node-b");
+
+    @Test
+    void broadcastIsSerializedOnceAndDeliveredOnEveryNode() {
+        nodeA.broadcast("/sub/digitaltwin/updates", Map.of("seq", 1));
+
+        ArgumentCaptor<Message<?>> local = messageCaptor();
+        ArgumentCaptor<Message<?>> remote = messageCaptor();
+        verify(templateA, times(1)).send(eq("/sub/digitaltwin/updates"), local.capture());
+        verify(templateB, times(1)).send(eq("/sub/digitaltwin/updates"), remote.capture());
+
+        // 다른 노드는 발행 노드가 직렬화한 byte[]를 그대로 전송
+        assertThat(remote.getValue().getPayload()).isSameAs(local.getValue().getPayload());
+    }
+
+    @Test
+    void remoteFramesCarryTheirOriginNode() {
+        nodeA.broadcastLatest("/sub/digitaltwin/all", Map.of("seq", 1));
+
+        ArgumentCaptor<Message<?>> local = messageCaptor();
+        ArgumentCaptor<Message<?>> remote = messageCaptor();
+        verify(templateA).send(eq("/sub/digitaltwin/all"), local.capture());
+        verify(templateB).send(eq("/sub/digitaltwin/all"), remote.capture());
+
+        assertThat(SimpMessageHeaderAccessor.wrap(local.getValue()).getFirstNativeHeader(StompBroadcaster.ORIGIN_HEADER))
+                .isEqualTo("node-a");
+        SimpMessageHeaderAccessor remoteHeaders = SimpMessageHeaderAccessor.wrap(remote.getValue());
+        assertThat(remoteHeaders.getFirstNativeHeader(StompBroadcaster.ORIGIN_HEADER)).isEqualTo("node-a");
+        // 다른 노드 seq 프레임과 병합되지 않도록 병합 키에 발행 노드 포함
+        assertThat(remoteHeaders.getHeader(SessionOutboundQueue.CONFLATION_KEY_HEADER))
+                .isEqualTo("/sub/digitaltwin/all" + StompBroadcaster.STATE_KEY_SUFFIX + "@node-a");
+    }
+
+    @Test
+    void sessionDestinationsStayOnTheirNode() {
+        nodeA.sendToSession("session-1", "/sub/digitaltwin/sync", Map.of("version", 1));
+
+        verify(templateA, times(1)).send(eq("/user/session-1/sub/digitaltwin/sync"), any(Message.class));
+        verify(templateB, never()).send(any(String.class), any(Message.class));
+    }
+
+    private StompBroadcaster node(SimpMessagingTemplate template, String nodeId) {
+        return new StompBroadcaster(template, new ObjectMapper(), new SimpleMeterRegistry(), backplane, nodeId);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ArgumentCaptor<Message<?>> messageCaptor() {
+        return (ArgumentCaptor) ArgumentCaptor.forClass(Message.class);
+    }
+}
@@ -0,0 +1,39 @@
+package com.mpole.hdt.event.api;
+
+import com.mpole.hdt.event.state.DeviceSnapshot;
+import com.mpole.hdt.event.state.DeviceStateStore;
+import com.mpole.hdt.event.state.PointValue;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 장비/관제점 현재값 조회 API (DB 조회 없음)
+ */
+@RestController
+public class DeviceStateController {
+
+    private final DeviceStateStore store;
+
+    public DeviceStateController(DeviceStateStore store) {
+        this.store = store;
+    }
+
+    @GetMapping("/internal/state/devices")
+    public List<String> devices() {
+        return store.deviceIds();
+    }
+
+    @GetMapping("/internal/state/devices/{deviceId}")
+    public ResponseEntity<DeviceSnapshot> device(@PathVariable String deviceId) {
+        return ResponseEntity.of(store.getDevice(deviceId));
+    }
+
+    @GetMapping("/internal/state/devices/{deviceId}/points/{pointCode}")
+    public ResponseEntity<PointValue> point(@PathVariable String deviceId, @PathVariable String pointCode) {
+        return ResponseEntity.of(store.getPoint(deviceId, pointCode));
+    }
+}
@@ -1,23 +1,174 @@
 package com.mpole.hdt.event.api;
 
+import com.mpole.hdt.event.api.dto.StandardEnvelope;
 import com.mpole.hdt.event.api.dto.StandardEvent;
+import com.mpole.hdt.event.api.dto.StandardHeader;
+import com.mpole.hdt.event.api.dto.StandardStreamRecord;
+import com.mpole.hdt.event.ingest.EnvelopeConverter;
+import com.mpole.hdt.event.ingest.IngestBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gateway → Event Server 내부 수신 API
+ * - 202: 버퍼 적재 완료 (처리는 비동기)
+ * - 400: 전문 계약 위반 (재시도 금지)
+ * - 429 + Retry-After: 버퍼 포화 (Gateway가 재시도/스풀 보관)
+ */
 @RestController
 public class InternalEventController {
     private static final Logger log = LoggerFactory.getLogger(InternalEventController.class);
+    private static final Duration STREAM_ADMIT_POLL = Duration.ofMillis(10);
+
+    private final IngestBuffer ingestBuffer;
+    private final EnvelopeConverter converter;
+    private final String retryAfterSeconds;
+    private final Duration streamAdmitTimeout;
+
+    public InternalEventController(
+            IngestBuffer ingestBuffer,
+            EnvelopeConverter converter,
+            @Value("${hdt.ingest.retry-after-seconds:1}") int retryAfterSeconds,
+            @Value("${hdt.ingest.stream-admit-timeout:5s}") Duration streamAdmitTimeout
+    ) {
+        this.ingestBuffer = ingestBuffer;
+        this.converter = converter;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+        this.streamAdmitTimeout = streamAdmitTimeout;
+    }
 
     @PostMapping("/internal/events")
-    public void receive(@RequestBody StandardEvent event) {
-        log.info("EVENT RECEIVED - source={}, type={}, deviceId={}, ts={}",
-                event.getSource(),
-                event.getType(),
-                event.getDeviceId(),
-                event.getTimestampMs()
-        );
+    public Mono<ResponseEntity<Void>> receive(
+            @RequestHeader(value = "X-Trx-Id", required = false) String trxId,
+            @RequestHeader(value = "X-Received-At", required = false) String gatewayReceivedAt,
+            @RequestBody Mono<StandardEnvelope> envelope
+    ) {
+        long receivedAt = System.currentTimeMillis();
+        return envelope
+                .map(e -> converter.applyGatewayStamp(e, trxId, gatewayReceivedAt))
+                .map(e -> converter.toEvents(e, receivedAt))
+                .map(this::admit)
+                .onErrorResume(IllegalArgumentException.class, e -> badRequest(trxId, e));
+    }
+
+    @PostMapping("/internal/events/batch")
+    public Mono<ResponseEntity<Void>> receiveBatch(
+            @RequestHeader(value = "X-Batch-Id", required = false) String batchId,
+            @RequestBody Flux<StandardEnvelope> envelopes
+    ) {
+        long receivedAt = System.currentTimeMillis();
+        return envelopes
+                .map(e -> converter.toEvents(e, receivedAt))
+                .collect(ArrayList<StandardEvent>::new, List::addAll)
+                .map(this::admit)
+                .onErrorResume(IllegalArgumentException.class, e -> badRequest(batchId, e));
+    }
+
+    /**
+     * NDJSON 스트리밍 수신 (application/x-ndjson)
+     * - 줄 단위로 파싱되는 즉시 1건씩 버퍼에 적재 (envelope 전체를 메모리에 올리지 않음)
+     * - 버퍼 포화 시 읽기를 멈추고 대기 (TCP 수준 backpressure), streamAdmitTimeout 초과 시 429
+     * - 429/400 응답의 X-Accepted-Count: 이미 적재된 건수 (재전송 시 중복 가능)
+     */
+    @PostMapping(value = "/internal/events/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Void>> receiveStream(
+            @RequestHeader(value = "X-Batch-Id", required = false) String batchId,
+            @RequestBody Flux<StandardStreamRecord> records
+    ) {
+        long receivedAt = System.currentTimeMillis();
+        StreamState state = new StreamState(receivedAt);
+
+        return records
+                .concatMap(record -> admitStreamRecord(record, state), 1)
+                .then(Mono.fromSupplier(() -> ResponseEntity.accepted()
+                        .header("X-Accepted-Count", String.valueOf(state.accepted))
+                        .<Void>build()))
+                .onErrorResume(IllegalArgumentException.class, e -> {
+                    log.warn("[Ingest] invalid stream id={} accepted={}: {}", batchId, state.accepted, e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest()
+                            .header("X-Accepted-Count", String.valueOf(state.accepted))
+                            .build());
+                })
+                .onErrorResume(BufferFullException.class, e -> {
+                    log.warn("[Ingest] buffer full during stream id={} accepted={}", batchId, state.accepted);
+                    return Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                            .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+                            .header("X-Accepted-Count", String.valueOf(state.accepted))
+                            .build());
+                });
+    }
+
+    private Mono<Void> admitStreamRecord(StandardStreamRecord record, StreamState state) {
+        if (record.getHeader() != null) {
+            state.header = record.getHeader();
+            state.headerTs = converter.parseTimestamp(state.header.getTimestamp(), state.receivedAt);
+            return Mono.empty();
+        }
+        if (state.header == null) {
+            return Mono.error(new IllegalArgumentException("item before header"));
+        }
+
+        StandardEvent event = converter.toEvent(state.header, record.getItem(), state.headerTs);
+        if (ingestBuffer.tryEnqueue(event)) {
+            state.accepted++;
+            return Mono.empty();
+        }
+
+        // 버퍼 포화: 소비 스레드가 비울 때까지 재시도 (그동안 요청 본문 읽기 중단)
+        return Mono.defer(() -> ingestBuffer.tryEnqueue(event)
+                        ? Mono.<Void>empty().doOnSuccess(v -> state.accepted++)
+                        : Mono.<Void>error(new BufferFullException()))
+                .retryWhen(Retry.fixedDelay(Long.MAX_VALUE, STREAM_ADMIT_POLL)
+                        .filter(BufferFullException.class::isInstance))
+                .timeout(streamAdmitTimeout, Mono.error(new BufferFullException()));
+    }
+
+    private ResponseEntity<Void> admit(List<StandardEvent> events) {
+        if (ingestBuffer.tryEnqueue(events)) {
+            return ResponseEntity.accepted().build();
+        }
+        log.warn("[Ingest] buffer full, rejecting {} events (used={}/{})",
+                events.size(), ingestBuffer.used(), ingestBuffer.capacity());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+                .build();
+    }
+
+    private static final class StreamState {
+        final long receivedAt;
+        StandardHeader header;
+        long headerTs;
+        long accepted;
+
+        StreamState(long receivedAt) {
+            this.receivedAt = receivedAt;
+        }
+    }
+
+    private static final class BufferFullException extends RuntimeException {
+        BufferFullException() {
+            super("ingest buffer full", null, false, false);
+        }
+    }
+
+    private Mono<ResponseEntity<Void>> badRequest(String id, IllegalArgumentException e) {
+        log.warn("[Ingest] invalid envelope id={}: {}", id, e.getMessage());
+        return Mono.just(ResponseEntity.badRequest().build());
     }
 }
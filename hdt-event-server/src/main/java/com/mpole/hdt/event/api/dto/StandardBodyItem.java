@@ -0,0 +1,39 @@
+package com.mpole.hdt.event.api.dto;
+
+import java.util.Map;
+
+/**
+ * Gateway 표준 관제점 항목 (hdt-gateway-server StandardBodyItem과 동일 계약)
+ */
+public class StandardBodyItem {
+    private String pointCode;
+    private String value;
+    private String soureTimestamp;
+    private String quality;
+    private String deviceCode;
+    private Boolean alarmYn;
+    private Map<String, Object> payload;
+
+    public StandardBodyItem() {}
+
+    public String getPointCode() { return pointCode; }
+    public void setPointCode(String pointCode) { this.pointCode = pointCode; }
+
+    public String getValue() { return value; }
+    public void setValue(String value) { this.value = value; }
+
+    public String getSoureTimestamp() { return soureTimestamp; }
+    public void setSoureTimestamp(String soureTimestamp) { this.soureTimestamp = soureTimestamp; }
+
+    public String getQuality() { return quality; }
+    public void setQuality(String quality) { this.quality = quality; }
+
+    public String getDeviceCode() { return deviceCode; }
+    public void setDeviceCode(String deviceCode) { this.deviceCode = deviceCode; }
+
+    public Boolean getAlarmYn() { return alarmYn; }
+    public void setAlarmYn(Boolean alarmYn) { this.alarmYn = alarmYn; }
+
+    public Map<String, Object> getPayload() { return payload; }
+    public void setPayload(Map<String, Object> payload) { this.payload = payload; }
+}
@@ -0,0 +1,19 @@
+package com.mpole.hdt.event.api.dto;
+
+import java.util.List;
+
+/**
+ * Gateway 표준 전문 (hdt-gateway-server StandardEnvelope과 동일 계약)
+ */
+public class StandardEnvelope {
+    private StandardHeader header;
+    private List<StandardBodyItem> body;
+
+    public StandardEnvelope() {}
+
+    public StandardHeader getHeader() { return header; }
+    public void setHeader(StandardHeader header) { this.header = header; }
+
+    public List<StandardBodyItem> getBody() { return body; }
+    public void setBody(List<StandardBodyItem> body) { this.body = body; }
+}
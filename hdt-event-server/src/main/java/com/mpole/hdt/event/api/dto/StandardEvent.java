@@ -1,5 +1,8 @@
 package com.mpole.hdt.event.api.dto;
 
+/**
+ * 내부 처리 단위 이벤트 (StandardEnvelope의 관제점 1건)
+ */
 public class StandardEvent {
     private String source;
     private String type;
@@ -7,6 +10,12 @@ public class StandardEvent {
     private long timestampMs;
     private String payloadJson;
 
+    private String trxId;
+    private String pointCode;
+    private String value;
+    private String quality;
+    private boolean alarm;
+
     public StandardEvent() {}
 
     public String getSource() { return source; }
@@ -23,4 +32,19 @@ public class StandardEvent {
 
     public String getPayloadJson() { return payloadJson; }
     public void setPayloadJson(String payloadJson) { this.payloadJson = payloadJson; }
+
+    public String getTrxId() { return trxId; }
+    public void setTrxId(String trxId) { this.trxId = trxId; }
+
+    public String getPointCode() { return pointCode; }
+    public void setPointCode(String pointCode) { this.pointCode = pointCode; }
+
+    public String getValue() { return value; }
+    public void setValue(String value) { this.value = value; }
+
+    public String getQuality() { return quality; }
+    public void setQuality(String quality) { this.quality = quality; }
+
+    public boolean isAlarm() { return alarm; }
+    public void setAlarm(boolean alarm) { this.alarm = alarm; }
 }
@@ -0,0 +1,29 @@
+package com.mpole.hdt.event.api.dto;
+
+/**
+ * Gateway 표준 헤더 (hdt-gateway-server StandardHeader와 동일 계약)
+ */
+public class StandardHeader {
+    private String trxId;
+    private String timestamp;
+    private String senderId;
+    private String schemaVersion;
+    private String messageType;
+
+    public StandardHeader() {}
+
+    public String getTrxId() { return trxId; }
+    public void setTrxId(String trxId) { this.trxId = trxId; }
+
+    public String getTimestamp() { return timestamp; }
+    public void setTimestamp(String timestamp) { this.timestamp = timestamp; }
+
+    public String getSenderId() { return senderId; }
+    public void setSenderId(String senderId) { this.senderId = senderId; }
+
+    public String getSchemaVersion() { return schemaVersion; }
+    public void setSchemaVersion(String schemaVersion) { this.schemaVersion = schemaVersion; }
+
+    public String getMessageType() { return messageType; }
+    public void setMessageType(String messageType) { this.messageType = messageType; }
+}
@@ -0,0 +1,19 @@
+package com.mpole.hdt.event.api.dto;
+
+/**
+ * NDJSON 스트리밍 전문의 1줄 (application/x-ndjson)
+ * - {"header":{...}} : 새 envelope 시작, 이후 item 줄에 적용
+ * - {"item":{...}}   : 직전 header에 속한 관제점 1건
+ */
+public class StandardStreamRecord {
+    private StandardHeader header;
+    private StandardBodyItem item;
+
+    public StandardStreamRecord() {}
+
+    public StandardHeader getHeader() { return header; }
+    public void setHeader(StandardHeader header) { this.header = header; }
+
+    public StandardBodyItem getItem() { return item; }
+    public void setItem(StandardBodyItem item) { this.item = item; }
+}
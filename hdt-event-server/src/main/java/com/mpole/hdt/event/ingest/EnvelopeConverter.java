@@ -0,0 +1,95 @@
+package com.mpole.hdt.event.ingest;
+
+import com.mpole.hdt.event.api.dto.StandardBodyItem;
+import com.mpole.hdt.event.api.dto.StandardEnvelope;
+import com.mpole.hdt.event.api.dto.StandardEvent;
+import com.mpole.hdt.event.api.dto.StandardHeader;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * StandardEnvelope → StandardEvent(관제점 1건 단위) 변환
+ */
+@Component
+public class EnvelopeConverter {
+
+    private final ObjectMapper objectMapper;
+
+    public EnvelopeConverter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @throws IllegalArgumentException 헤더 누락 등 계약 위반
+     */
+    public List<StandardEvent> toEvents(StandardEnvelope envelope, long receivedAtMs) {
+        StandardHeader header = validate(envelope);
+        List<StandardBodyItem> body = envelope.getBody();
+        if (body == null || body.isEmpty()) return List.of();
+
+        long headerTs = parseTimestamp(header.getTimestamp(), receivedAtMs);
+        List<StandardEvent> events = new ArrayList<>(body.size());
+        for (StandardBodyItem item : body) {
+            events.add(toEvent(header, item, headerTs));
+        }
+        return events;
+    }
+
+    public StandardHeader validate(StandardEnvelope envelope) {
+        if (envelope == null || envelope.getHeader() == null) {
+            throw new IllegalArgumentException("header is required");
+        }
+        return envelope.getHeader();
+    }
+
+    /**
+     * Gateway 원문 전달(push 수신) 시 헤더 보정값 반영
+     * - X-Trx-Id: 전문에 trxId가 없을 때만 채움
+     * - X-Received-At: Gateway 수신 시각으로 timestamp 덮어씀
+     */
+    public StandardEnvelope applyGatewayStamp(StandardEnvelope envelope, String trxId, String receivedAt) {
+        StandardHeader header = validate(envelope);
+        if (trxId != null && (header.getTrxId() == null || header.getTrxId().isEmpty())) {
+            header.setTrxId(trxId);
+        }
+        if (receivedAt != null && !receivedAt.isEmpty()) {
+            header.setTimestamp(receivedAt);
+        }
+        return envelope;
+    }
+
+    public StandardEvent toEvent(StandardHeader header, StandardBodyItem item, long headerTs) {
+        if (item == null || item.getPointCode() == null) {
+            throw new IllegalArgumentException("pointCode is required trxId=" + header.getTrxId());
+        }
+
+        StandardEvent event = new StandardEvent();
+        event.setSource(header.getSenderId());
+        event.setType(header.getMessageType());
+        event.setTrxId(header.getTrxId());
+        event.setDeviceId(item.getDeviceCode() != null ? item.getDeviceCode() : item.getPointCode());
+        event.setPointCode(item.getPointCode());
+        event.setValue(item.getValue());
+        event.setQuality(item.getQuality() != null ? item.getQuality() : "GOOD");
+        event.setAlarm(Boolean.TRUE.equals(item.getAlarmYn()));
+        event.setTimestampMs(parseTimestamp(item.getSoureTimestamp(), headerTs));
+        if (item.getPayload() != null && !item.getPayload().isEmpty()) {
+            event.setPayloadJson(objectMapper.writeValueAsString(item.getPayload()));
+        }
+        return event;
+    }
+
+    public long parseTimestamp(String iso, long fallbackMs) {
+        if (iso == null || iso.isEmpty()) return fallbackMs;
+        try {
+            return OffsetDateTime.parse(iso).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return fallbackMs;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.mpole.hdt.event.ingest;
+
+import com.mpole.hdt.event.api.dto.StandardEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 수신 이벤트 버퍼 (Bounded, deviceId 파티셔닝)
+ * - 전체 용량(capacity)을 넘으면 적재 거부 → 컨트롤러에서 429 응답
+ * - 배치 단위 적재는 all-or-nothing (부분 적재 후 재전송으로 인한 중복 방지)
+ * - 파티션마다 전용 소비 스레드 1개 → 같은 deviceId는 항상 같은 스레드에서 순서대로 처리
+ */
+@Component
+public class IngestBuffer implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(IngestBuffer.class);
+
+    private final List<IngestEventHandler> handlers;
+    private final int partitions;
+    private final int capacity;
+    private final int drainBatch;
+    private final Duration shutdownTimeout;
+
+    // 파티션별 ring buffer (각 큐 크기 = 전체 용량 → 전체 용량 검사 통과 시 offer 실패 없음)
+    private final ArrayBlockingQueue<StandardEvent>[] queues;
+    private final AtomicInteger used = new AtomicInteger();
+    private final Thread[] consumers;
+    private volatile boolean running = false;
+
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter handlerErrors;
+
+    @SuppressWarnings("unchecked")
+    public IngestBuffer(
+            List<IngestEventHandler> handlers,
+            MeterRegistry meterRegistry,
+            @Value("${hdt.ingest.partitions:0}") int partitions,
+            @Value("${hdt.ingest.buffer-capacity:65536}") int capacity,
+            @Value("${hdt.ingest.drain-batch:256}") int drainBatch,
+            @Value("${hdt.ingest.shutdown-timeout:10s}") Duration shutdownTimeout
+    ) {
+        this.handlers = handlers;
+        this.partitions = resolvePartitions(partitions);
+        this.capacity = capacity;
+        this.drainBatch = drainBatch;
+        this.shutdownTimeout = shutdownTimeout;
+
+        this.queues = new ArrayBlockingQueue[this.partitions];
+        this.consumers = new Thread[this.partitions];
+        for (int i = 0; i < this.partitions; i++) {
+            queues[i] = new ArrayBlockingQueue<>(capacity);
+        }
+
+        Gauge.builder("hdt.ingest.buffer.used", used, AtomicInteger::get)
+                .description("버퍼 적재 중 이벤트 수")
+                .register(meterRegistry);
+        Gauge.builder("hdt.ingest.buffer.capacity", () -> this.capacity).register(meterRegistry);
+        this.accepted = Counter.builder("hdt.ingest.events").tag("outcome", "accepted").register(meterRegistry);
+        this.rejected = Counter.builder("hdt.ingest.events").tag("outcome", "rejected").register(meterRegistry);
+        this.handlerErrors = Counter.builder("hdt.ingest.handler.errors").register(meterRegistry);
+    }
+
+    /**
+     * 설정값 → 실제 파티션 수 (0 이하 = CPU 코어 수)
+     */
+    public static int resolvePartitions(int configured) {
+        return configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * deviceId → 파티션 (소비 스레드/상태 저장소 샤드 공통 규칙)
+     */
+    public static int partitionOf(String deviceId, int partitions) {
+        int h = (deviceId == null) ? 0 : deviceId.hashCode();
+        h ^= (h >>> 16);
+        return Math.floorMod(h, partitions);
+    }
+
+    public int partitions() {
+        return partitions;
+    }
+
+    /**
+     * 이벤트 목록 적재 (all-or-nothing)
+     * @return false: 용량 부족 또는 종료 중
+     */
+    public boolean tryEnqueue(List<StandardEvent> events) {
+        int n = events.size();
+        if (n == 0) return true;
+        if (!running) return false;
+
+        int current;
+        do {
+            current = used.get();
+            if (current + n > capacity) {
+                rejected.increment(n);
+                return false;
+            }
+        } while (!used.compareAndSet(current, current + n));
+
+        for (StandardEvent event : events) {
+            queues[partitionOf(event.getDeviceId(), partitions)].offer(event);
+        }
+        accepted.increment(n);
+        return true;
+    }
+
+    /**
+     * 단건 적재 (스트리밍 수신용)
+     * @return false: 용량 부족 또는 종료 중
+     */
+    public boolean tryEnqueue(StandardEvent event) {
+        if (!running) return false;
+        if (used.incrementAndGet() > capacity) {
+            used.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        queues[partitionOf(event.getDeviceId(), partitions)].offer(event);
+        accepted.increment();
+        return true;
+    }
+
+    public int used() {
+        return used.get();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    private void consume(int partition) {
+        ArrayBlockingQueue<StandardEvent> queue = queues[partition];
+        List<StandardEvent> batch = new ArrayList<>(drainBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                StandardEvent first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, drainBatch - 1);
+
+                for (StandardEvent event : batch) {
+                    dispatch(event, partition);
+                }
+                used.addAndGet(-batch.size());
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    private void dispatch(StandardEvent event, int partition) {
+        for (IngestEventHandler handler : handlers) {
+            try {
+                handler.handle(event, partition);
+            } catch (RuntimeException e) {
+                handlerErrors.increment();
+                log.error("[Ingest] handler {} failed deviceId={} pointCode={}",
+                        handler.getClass().getSimpleName(), event.getDeviceId(), event.getPointCode(), e);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (int i = 0; i < partitions; i++) {
+            final int partition = i;
+            consumers[i] = Thread.ofPlatform()
+                    .name("ingest-consumer-" + i)
+                    .start(() -> consume(partition));
+        }
+        log.info("[Ingest] buffer started partitions={} capacity={}", partitions, capacity);
+    }
+
+    /**
+     * 신규 적재 중단 후 남은 이벤트 소진 (shutdownTimeout 까지)
+     */
+    @Override
+    public void stop() {
+        running = false;
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        for (Thread consumer : consumers) {
+            if (consumer == null) continue;
+            try {
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                consumer.join(Math.max(1, remainingMs));
+                if (consumer.isAlive()) consumer.interrupt();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        log.info("[Ingest] buffer stopped remaining={}", used.get());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
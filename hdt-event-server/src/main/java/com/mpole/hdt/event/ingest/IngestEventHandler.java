@@ -0,0 +1,13 @@
+package com.mpole.hdt.event.ingest;
+
+import com.mpole.hdt.event.api.dto.StandardEvent;
+
+/**
+ * IngestBuffer 소비 단계에서 호출되는 이벤트 처리기
+ * - 같은 deviceId의 이벤트는 항상 같은 파티션 스레드에서 순서대로 호출됨
+ * - 블로킹 I/O 금지 (파티션 전체가 지연됨)
+ */
+public interface IngestEventHandler {
+
+    void handle(StandardEvent event, int partition);
+}
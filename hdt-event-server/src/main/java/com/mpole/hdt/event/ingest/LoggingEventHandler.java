@@ -0,0 +1,26 @@
+package com.mpole.hdt.event.ingest;
+
+import com.mpole.hdt.event.api.dto.StandardEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LoggingEventHandler implements IngestEventHandler {
+    private static final Logger log = LoggerFactory.getLogger(LoggingEventHandler.class);
+
+    @Override
+    public void handle(StandardEvent event, int partition) {
+        if (log.isDebugEnabled()) {
+            log.debug("EVENT - partition={}, source={}, type={}, deviceId={}, pointCode={}, value={}, ts={}",
+                    partition,
+                    event.getSource(),
+                    event.getType(),
+                    event.getDeviceId(),
+                    event.getPointCode(),
+                    event.getValue(),
+                    event.getTimestampMs()
+            );
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.mpole.hdt.event.state;
+
+import java.util.Map;
+
+/**
+ * 장비 단위 현재값 스냅샷 (조회 시점 복사본)
+ */
+public record DeviceSnapshot(
+        String deviceId,
+        long updatedAtMs,
+        Map<String, PointValue> points
+) {
+}
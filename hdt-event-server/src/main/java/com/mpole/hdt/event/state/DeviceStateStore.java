@@ -0,0 +1,109 @@
+package com.mpole.hdt.event.state;
+
+import com.mpole.hdt.event.api.dto.StandardEvent;
+import com.mpole.hdt.event.ingest.IngestBuffer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 장비/관제점 현재값 저장소 (In-Memory)
+ * - IngestBuffer 파티션과 같은 규칙(IngestBuffer.partitionOf)으로 샤딩 → 샤드마다 쓰기 스레드는 해당 파티션 소비 스레드 1개
+ * - 읽기는 락 없이 ConcurrentHashMap 조회 (값은 불변 PointValue로 교체)
+ * - 같은 관제점에 더 오래된 timestamp 이벤트가 늦게 도착하면 무시
+ */
+@Component
+public class DeviceStateStore {
+
+    private final Map<String, DeviceState>[] shards;
+    private final LongAdder pointCount = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public DeviceStateStore(
+            MeterRegistry meterRegistry,
+            @Value("${hdt.ingest.partitions:0}") int partitions
+    ) {
+        int n = IngestBuffer.resolvePartitions(partitions);
+        this.shards = new Map[n];
+        for (int i = 0; i < n; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+
+        Gauge.builder("hdt.state.devices", this, DeviceStateStore::deviceCount)
+                .description("현재값 보유 장비 수")
+                .register(meterRegistry);
+        Gauge.builder("hdt.state.points", pointCount, LongAdder::sum)
+                .description("현재값 보유 관제점 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 이벤트 반영 (partition 소비 스레드에서만 호출)
+     */
+    public void apply(StandardEvent event, int partition) {
+        if (event.getDeviceId() == null || event.getPointCode() == null) return;
+
+        DeviceState state = shards[partition].computeIfAbsent(event.getDeviceId(), id -> new DeviceState());
+        PointValue previous = state.points.get(event.getPointCode());
+        if (previous != null && previous.timestampMs() > event.getTimestampMs()) {
+            return;
+        }
+
+        state.points.put(event.getPointCode(), new PointValue(
+                event.getPointCode(),
+                event.getValue(),
+                event.getQuality(),
+                event.isAlarm(),
+                event.getTimestampMs(),
+                event.getSource()
+        ));
+        if (previous == null) pointCount.increment();
+        if (event.getTimestampMs() > state.updatedAtMs) {
+            state.updatedAtMs = event.getTimestampMs();
+        }
+    }
+
+    public Optional<PointValue> getPoint(String deviceId, String pointCode) {
+        DeviceState state = shardOf(deviceId).get(deviceId);
+        return state == null ? Optional.empty() : Optional.ofNullable(state.points.get(pointCode));
+    }
+
+    public Optional<DeviceSnapshot> getDevice(String deviceId) {
+        DeviceState state = shardOf(deviceId).get(deviceId);
+        if (state == null) return Optional.empty();
+        return Optional.of(new DeviceSnapshot(deviceId, state.updatedAtMs, Map.copyOf(state.points)));
+    }
+
+    public List<String> deviceIds() {
+        List<String> ids = new ArrayList<>();
+        for (Map<String, DeviceState> shard : shards) {
+            ids.addAll(shard.keySet());
+        }
+        return ids;
+    }
+
+    public int deviceCount() {
+        int n = 0;
+        for (Map<String, DeviceState> shard : shards) {
+            n += shard.size();
+        }
+        return n;
+    }
+
+    private Map<String, DeviceState> shardOf(String deviceId) {
+        return shards[IngestBuffer.partitionOf(deviceId, shards.length)];
+    }
+
+    private static final class DeviceState {
+        final Map<String, PointValue> points = new ConcurrentHashMap<>();
+        volatile long updatedAtMs;
+    }
+}
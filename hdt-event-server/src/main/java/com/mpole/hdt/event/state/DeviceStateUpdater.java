@@ -0,0 +1,23 @@
+package com.mpole.hdt.event.state;
+
+import com.mpole.hdt.event.api.dto.StandardEvent;
+import com.mpole.hdt.event.ingest.IngestEventHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * 수신 이벤트 → DeviceStateStore 반영
+ */
+@Component
+public class DeviceStateUpdater implements IngestEventHandler {
+
+    private final DeviceStateStore store;
+
+    public DeviceStateUpdater(DeviceStateStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void handle(StandardEvent event, int partition) {
+        store.apply(event, partition);
+    }
+}
@@ -0,0 +1,14 @@
+package com.mpole.hdt.event.state;
+
+/**
+ * 관제점 현재값 (불변)
+ */
+public record PointValue(
+        String pointCode,
+        String value,
+        String quality,
+        boolean alarm,
+        long timestampMs,
+        String source
+) {
+}
@@ -0,0 +1,50 @@
+package com.mpole.hdt.event.state;
+
+import com.mpole.hdt.event.api.dto.StandardEvent;
+import com.mpole.hdt.event.ingest.IngestBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeviceStateStoreTest {
+
+    private final DeviceStateStore store = new DeviceStateStore(new SimpleMeterRegistry(), 4);
+
+    @Test
+    void keepsLatestValuePerPoint() {
+        apply(event("AHU-01", "SAT", "18.5", 1_000));
+        apply(event("AHU-01", "RAT", "24.0", 1_000));
+        apply(event("AHU-01", "SAT", "18.7", 2_000));
+
+        assertEquals("18.7", store.getPoint("AHU-01", "SAT").orElseThrow().value());
+        DeviceSnapshot snapshot = store.getDevice("AHU-01").orElseThrow();
+        assertEquals(2, snapshot.points().size());
+        assertEquals(2_000, snapshot.updatedAtMs());
+    }
+
+    @Test
+    void ignoresOutOfOrderEvent() {
+        apply(event("FCU-01", "TEMP", "22.0", 5_000));
+        apply(event("FCU-01", "TEMP", "21.0", 4_000));
+
+        assertEquals("22.0", store.getPoint("FCU-01", "TEMP").orElseThrow().value());
+        assertTrue(store.getPoint("FCU-01", "NONE").isEmpty());
+        assertTrue(store.getDevice("UNKNOWN").isEmpty());
+    }
+
+    private void apply(StandardEvent event) {
+        store.apply(event, IngestBuffer.partitionOf(event.getDeviceId(), 4));
+    }
+
+    private static StandardEvent event(String deviceId, String pointCode, String value, long ts) {
+        StandardEvent event = new StandardEvent();
+        event.setDeviceId(deviceId);
+        event.setPointCode(pointCode);
+        event.setValue(value);
+        event.setQuality("GOOD");
+        event.setTimestampMs(ts);
+        return event;
+    }
+}
@@ -0,0 +1,40 @@
+package com.mpole.hdt.gateway.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 변화 감지(deadband) 필터 설정
+ * hdt.filter.change-detection.*
+ */
+@Data
+@ConfigurationProperties(prefix = "hdt.filter.change-detection")
+public class ChangeDetectionProperties {
+
+    private boolean enabled = true;
+
+    /** 마지막 발행 후 이 시간이 지나면 변화가 없어도 발행 */
+    private Duration forceRefresh = Duration.ofMinutes(5);
+
+    /** 캐시할 관제점 수 상한 (초과분은 필터 없이 통과) */
+    private int maxPoints = 1_000_000;
+
+    /** 기본 deadband (관제점별 설정이 없을 때) */
+    private Deadband defaults = new Deadband();
+
+    /** 관제점별 deadband (key: pointCode) */
+    private Map<String, Deadband> points = new HashMap<>();
+
+    @Data
+    public static class Deadband {
+        /** 절대값 기준: |new - last| > absolute 이면 발행 (0: 미사용) */
+        private double absolute = 0;
+
+        /** 비율 기준: |new - last| / |last| * 100 > percent 이면 발행 (0: 미사용) */
+        private double percent = 0;
+    }
+}
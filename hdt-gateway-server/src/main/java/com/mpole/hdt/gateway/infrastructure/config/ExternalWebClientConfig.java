@@ -1,19 +1,25 @@
 package com.mpole.hdt.gateway.infrastructure.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 
 // 엑센 솔루션 통합SI 호출 설정 - 통합SI/벤더 호출 용도(=Adapter 전용)
 @Configuration
+@EnableConfigurationProperties(WebClientPoolProperties.class)
 public class ExternalWebClientConfig {
     @Bean
     public WebClient externalWebClient(
-            @Value("${external.vendor.base-url}") String baseUrl
+            @Value("${external.vendor.base-url}") String baseUrl,
+            WebClientPoolProperties poolProperties
     ) {
         return WebClient.builder()
                 .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(
+                        ReactorHttpClients.create("external", poolProperties.getExternal())))
                 .build();
     }
 }
@@ -1,22 +1,17 @@
 package com.mpole.hdt.gateway.infrastructure.config;
 
-import io.netty.channel.ChannelOption;
-import io.netty.handler.timeout.ReadTimeoutHandler;
-import io.netty.handler.timeout.WriteTimeoutHandler;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
-import reactor.netty.http.client.HttpClient;
-
-import java.time.Duration;
-import java.util.concurrent.TimeUnit;
 
 //Event Server로 보내는 용도(=EventForwarder 전용)
 @Configuration
+@EnableConfigurationProperties(WebClientPoolProperties.class)
 public class InternalWebClientConfig {
 //    @Bean
 //    public WebClient eventServerWebClient(
@@ -29,19 +24,13 @@ public class InternalWebClientConfig {
 
     @Bean(name = "eventServerWebClient")
     public WebClient eventServerWebClient(
-            @Value("${hdt.event-server.base-url:http://localhost:8081}") String baseUrl
+            @Value("${hdt.event-server.base-url:http://localhost:8081}") String baseUrl,
+            WebClientPoolProperties poolProperties
     ) {
-        HttpClient httpClient = HttpClient.create()
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 3000)
-                .responseTimeout(Duration.ofSeconds(5))
-                .doOnConnected(conn ->
-                        conn.addHandlerLast(new ReadTimeoutHandler(5, TimeUnit.SECONDS))
-                                .addHandlerLast(new WriteTimeoutHandler(5, TimeUnit.SECONDS))
-                );
-
         return WebClient.builder()
                 .baseUrl(baseUrl)
-                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .clientConnector(new ReactorClientHttpConnector(
+                        ReactorHttpClients.create("event-server", poolProperties.getEventServer())))
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .build();
     }
@@ -0,0 +1,47 @@
+package com.mpole.hdt.gateway.infrastructure.config;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebClientPoolProperties.Pool → Reactor Netty HttpClient
+ * 풀 메트릭: reactor.netty.connection.provider.*{name}
+ */
+final class ReactorHttpClients {
+
+    private ReactorHttpClients() {
+    }
+
+    static HttpClient create(String name, WebClientPoolProperties.Pool pool) {
+        ConnectionProvider.Builder provider = ConnectionProvider.builder(name)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .metrics(true);
+        if (!pool.getEvictInBackground().isZero()) {
+            provider.evictInBackground(pool.getEvictInBackground());
+        }
+
+        HttpClient httpClient = HttpClient.create(provider.build())
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) pool.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, pool.isKeepAlive())
+                .responseTimeout(pool.getResponseTimeout());
+
+        if (pool.isH2c()) {
+            // h2c prior-knowledge: 스트림 다중화, 타임아웃은 요청 단위 responseTimeout 으로 처리
+            // (HTTP/1.1 Upgrade 방식은 본문 있는 첫 요청이 서버에서 413으로 거절될 수 있어 사용하지 않음)
+            return httpClient.protocol(HttpProtocol.H2C);
+        }
+        return httpClient.doOnConnected(conn ->
+                conn.addHandlerLast(new ReadTimeoutHandler(pool.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS))
+                        .addHandlerLast(new WriteTimeoutHandler(pool.getWriteTimeout().toMillis(), TimeUnit.MILLISECONDS)));
+    }
+}
@@ -0,0 +1,52 @@
+package com.mpole.hdt.gateway.infrastructure.config;
+
+import com.mpole.hdt.gateway.infrastructure.external.dto.MessageType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 통합SI/벤더 폴링 대상 설정
+ * external.vendor.polling.targets[n].*
+ */
+@Data
+@ConfigurationProperties(prefix = "external.vendor.polling")
+public class VendorPollingProperties {
+
+    private boolean enabled = true;
+
+    private List<Target> targets = new ArrayList<>();
+
+    @Data
+    public static class Target {
+        /** 대상 이름 (메트릭 태그/로그용, 고유) */
+        private String name;
+
+        /** externalWebClient base-url 기준 경로 */
+        private String path;
+
+        /** 관제점 그룹 목록, 지정 시 그룹마다 ?group= 으로 개별 호출 */
+        private List<String> pointGroups = new ArrayList<>();
+
+        /** 폴링 주기 */
+        private Duration interval = Duration.ofSeconds(5);
+
+        /** 주기마다 더해지는 0 ~ jitter 랜덤 지연 (동시 호출 분산) */
+        private Duration jitter = Duration.ofMillis(500);
+
+        /** 호출 1건 타임아웃 */
+        private Duration timeout = Duration.ofSeconds(3);
+
+        /** 대상 내 그룹 동시 호출 상한 */
+        private int maxConcurrency = 4;
+
+        private String senderId = "INTEGRATION_SI";
+
+        private MessageType messageType = MessageType.SNAPSHOT;
+
+        private boolean enabled = true;
+    }
+}
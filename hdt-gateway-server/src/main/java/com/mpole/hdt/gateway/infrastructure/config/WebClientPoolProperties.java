@@ -0,0 +1,57 @@
+package com.mpole.hdt.gateway.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * WebClient 커넥션 풀/타임아웃 설정
+ * hdt.http-client.event-server.* / hdt.http-client.external.*
+ */
+@Data
+@ConfigurationProperties(prefix = "hdt.http-client")
+public class WebClientPoolProperties {
+
+    /** Gateway → Event Server */
+    private Pool eventServer = new Pool();
+
+    /** Gateway → 통합SI/벤더 */
+    private Pool external = new Pool();
+
+    @Data
+    public static class Pool {
+        /** 최대 커넥션 수 (h2c 사용 시 커넥션당 여러 스트림 다중화) */
+        private int maxConnections = 100;
+
+        /** 커넥션 획득 대기 요청 상한 (초과 시 즉시 실패) */
+        private int pendingAcquireMaxCount = 1000;
+
+        /** 커넥션 획득 대기 시간 */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(3);
+
+        /** 유휴 커넥션 유지 시간 (LB/방화벽 idle timeout 보다 짧게) */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        /** 커넥션 최대 수명 */
+        private Duration maxLifeTime = Duration.ofMinutes(10);
+
+        /** 유휴/만료 커넥션 백그라운드 정리 주기 (0: 미사용) */
+        private Duration evictInBackground = Duration.ofSeconds(30);
+
+        private Duration connectTimeout = Duration.ofSeconds(3);
+
+        private Duration responseTimeout = Duration.ofSeconds(5);
+
+        /** HTTP/1.1 커넥션 read/write 타임아웃 */
+        private Duration readTimeout = Duration.ofSeconds(5);
+
+        private Duration writeTimeout = Duration.ofSeconds(5);
+
+        /** TCP keep-alive */
+        private boolean keepAlive = true;
+
+        /** h2c(HTTP/2 cleartext, prior-knowledge) 사용, 서버도 HTTP/2 활성화 필요 */
+        private boolean h2c = false;
+    }
+}
@@ -30,4 +30,13 @@ public class StandardResult {
                 .timestamp(java.time.OffsetDateTime.now().toString())
                 .build();
     }
+
+    public static StandardResult rejected(String code, String message) {
+        return StandardResult.builder()
+                .success(false)
+                .code(code)
+                .message(message)
+                .timestamp(java.time.OffsetDateTime.now().toString())
+                .build();
+    }
 }
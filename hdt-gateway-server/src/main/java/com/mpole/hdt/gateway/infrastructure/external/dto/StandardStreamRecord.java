@@ -0,0 +1,43 @@
+package com.mpole.hdt.gateway.infrastructure.external.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * NDJSON 스트리밍 전문의 1줄 (application/x-ndjson)
+ * - {"header":{...}} : 새 envelope 시작, 이후 item 줄에 적용
+ * - {"item":{...}}   : 직전 header에 속한 관제점 1건
+ * 수신 측은 줄 단위로 파싱/처리하므로 SNAPSHOT 같은 대용량 envelope도 전체를 메모리에 올리지 않음
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StandardStreamRecord {
+    private StandardHeader header;
+    private StandardBodyItem item;
+
+    public static StandardStreamRecord header(StandardHeader header) {
+        return new StandardStreamRecord(header, null);
+    }
+
+    public static StandardStreamRecord item(StandardBodyItem item) {
+        return new StandardStreamRecord(null, item);
+    }
+
+    /**
+     * envelope → [header, item, item, ...]
+     */
+    public static List<StandardStreamRecord> of(StandardEnvelope<?> envelope) {
+        List<StandardBodyItem> body = envelope.getBody() != null ? envelope.getBody() : List.of();
+        List<StandardStreamRecord> records = new ArrayList<>(body.size() + 1);
+        records.add(header(envelope.getHeader()));
+        body.forEach(item -> records.add(item(item)));
+        return records;
+    }
+}
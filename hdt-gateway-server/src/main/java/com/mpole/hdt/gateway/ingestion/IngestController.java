@@ -1,4 +1,189 @@
 package com.mpole.hdt.gateway.ingestion;
 
+import com.mpole.hdt.gateway.infrastructure.external.dto.StandardHeader;
+import com.mpole.hdt.gateway.infrastructure.external.dto.StandardResult;
+import com.mpole.hdt.gateway.ingestion.publisher.EventPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 벤더 Push 수신 API (StandardEnvelope JSON)
+ * - 본문은 버퍼로만 모으고 header만 스트리밍 파싱하여 검증 (body item은 역직렬화하지 않음)
+ * - trxId(없을 때)/timestamp(Gateway 수신 시각) 보정 후 원문 버퍼 그대로 EventPublisher.publishRaw 전달
+ * - 발행 완료를 기다리지 않고 즉시 202 + StandardResult.accepted() 응답 (실패 건은 스풀에서 재전송)
+ * - 발행 진행 중 요청이 maxInFlight 를 넘으면 429
+ */
+@Slf4j
+@RestController
 public class IngestController {
+    private static final String CODE_INVALID = "4000";
+    private static final String CODE_TOO_LARGE = "4013";
+    private static final String CODE_BUSY = "4029";
+
+    private final EventPublisher<Object> eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader headerReader;
+    private final int maxBodyBytes;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter busy;
+    private final Counter publishFailed;
+
+    public IngestController(
+            EventPublisher<Object> eventPublisher,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${hdt.ingest.push.max-body-size:4MB}") DataSize maxBodySize,
+            @Value("${hdt.ingest.push.max-in-flight:1024}") int maxInFlight
+    ) {
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        // header 객체 이후에도 envelope 토큰이 이어지므로 trailing token 검사 제외
+        this.headerReader = objectMapper.readerFor(StandardHeader.class)
+                .without(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        this.maxBodyBytes = (int) maxBodySize.toBytes();
+        this.maxInFlight = maxInFlight;
+
+        this.accepted = pushCounter(meterRegistry, "accepted");
+        this.rejected = pushCounter(meterRegistry, "rejected");
+        this.busy = pushCounter(meterRegistry, "busy");
+        this.publishFailed = pushCounter(meterRegistry, "publish_failed");
+    }
+
+    @PostMapping(value = "/ingest/events", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<StandardResult>> ingest(ServerHttpRequest request) {
+        return DataBufferUtils.join(request.getBody(), maxBodyBytes)
+                .map(this::admit)
+                .switchIfEmpty(Mono.fromSupplier(() -> reject(HttpStatus.BAD_REQUEST, CODE_INVALID, "empty body")))
+                .onErrorResume(DataBufferLimitException.class,
+                        e -> Mono.just(reject(HttpStatus.CONTENT_TOO_LARGE, CODE_TOO_LARGE, "body exceeds " + maxBodyBytes + " bytes")));
+    }
+
+    private ResponseEntity<StandardResult> admit(DataBuffer body) {
+        StandardHeader header;
+        try {
+            header = readHeader(body);
+        } catch (IllegalArgumentException e) {
+            DataBufferUtils.release(body);
+            log.warn("[Ingest] invalid push envelope: {}", e.getMessage());
+            return reject(HttpStatus.BAD_REQUEST, CODE_INVALID, e.getMessage());
+        } catch (JacksonException e) {
+            DataBufferUtils.release(body);
+            log.warn("[Ingest] malformed push envelope: {}", e.getOriginalMessage());
+            return reject(HttpStatus.BAD_REQUEST, CODE_INVALID, "malformed JSON");
+        }
+
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            DataBufferUtils.release(body);
+            busy.increment();
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(StandardResult.rejected(CODE_BUSY, "too many in-flight envelopes"));
+        }
+
+        if (header.getTrxId() == null || header.getTrxId().isBlank()) {
+            header.setTrxId(UUID.randomUUID().toString());
+        }
+        header.setTimestamp(OffsetDateTime.now().toString());
+
+        String trxId = header.getTrxId();
+        eventPublisher.publishRaw(header, body)
+                .doFinally(signal -> {
+                    inFlight.decrementAndGet();
+                    DataBufferUtils.release(body);
+                })
+                .subscribe(null, e -> {
+                    publishFailed.increment();
+                    log.error("[Ingest] push publish failed trxId={}", trxId, e);
+                });
+
+        accepted.increment();
+        return ResponseEntity.accepted().body(StandardResult.accepted());
+    }
+
+    /**
+     * 최상위 header 객체만 역직렬화하고 나머지는 토큰 단위로 건너뜀 (읽기 위치는 원복)
+     * @throws IllegalArgumentException 헤더 누락/필수값 누락, 빈 body
+     */
+    private StandardHeader readHeader(DataBuffer body) {
+        int readPosition = body.readPosition();
+        try (JsonParser parser = objectMapper.createParser(body.asInputStream())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("envelope must be a JSON object");
+            }
+
+            StandardHeader header = null;
+            boolean hasItems = false;
+            while (parser.nextToken() == JsonToken.PROPERTY_NAME && (header == null || !hasItems)) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("header".equals(name) && value == JsonToken.START_OBJECT) {
+                    header = headerReader.readValue(parser);
+                } else if ("body".equals(name) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        hasItems = true;
+                        parser.skipChildren();
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            validate(header, hasItems);
+            return header;
+        } finally {
+            body.readPosition(readPosition);
+        }
+    }
+
+    private static void validate(StandardHeader header, boolean hasItems) {
+        if (header == null) {
+            throw new IllegalArgumentException("header is required");
+        }
+        if (header.getSenderId() == null || header.getSenderId().isBlank()) {
+            throw new IllegalArgumentException("header.senderId is required");
+        }
+        // schemaVersion 생략 시 1.0으로 간주
+        if (header.getSchemaVersion() != null && !header.getSchemaVersion().startsWith("1.")) {
+            throw new IllegalArgumentException("unsupported schemaVersion: " + header.getSchemaVersion());
+        }
+        if (!hasItems) {
+            throw new IllegalArgumentException("body must be a non-empty array");
+        }
+    }
+
+    private ResponseEntity<StandardResult> reject(HttpStatus status, String code, String message) {
+        rejected.increment();
+        return ResponseEntity.status(status).body(StandardResult.rejected(code, message));
+    }
+
+    private static Counter pushCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("hdt.ingest.push").tag("outcome", outcome).register(registry);
+    }
 }
@@ -0,0 +1,188 @@
+package com.mpole.hdt.gateway.ingestion.filter;
+
+import com.mpole.hdt.gateway.infrastructure.config.ChangeDetectionProperties;
+import com.mpole.hdt.gateway.infrastructure.external.dto.MessageType;
+import com.mpole.hdt.gateway.infrastructure.external.dto.StandardBodyItem;
+import com.mpole.hdt.gateway.infrastructure.external.dto.StandardEnvelope;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 변화 감지(deadband) 필터
+ * - pointCode별 마지막 "발행" 값을 캐시하고, 변화가 없거나 deadband 이내인 item은 발행 전에 제거
+ * - 숫자 값: 관제점별 absolute/percent deadband 적용, 그 외 값: 문자열이 바뀌었을 때만 발행
+ * - 알람 여부/품질 변경, forceRefresh 경과 시에는 항상 발행
+ * - ALARM/CONTROL 전문은 필터하지 않음
+ * 캐시는 pointCode → slot 사전 + slot 인덱스 배열 (관제점당 객체 할당 없음, 문자열은 수신 값 참조만 보관)
+ */
+@Component
+@EnableConfigurationProperties(ChangeDetectionProperties.class)
+public class ChangeDetectionFilter {
+    private static final byte F_NUMERIC = 1;
+    private static final byte F_ALARM = 1 << 1;
+
+    private final ChangeDetectionProperties properties;
+    private final long forceRefreshMs;
+
+    // slot별 마지막 발행 상태 (lock 보호)
+    private final PointSlotIndex index = new PointSlotIndex(4096);
+    private double[] lastNumber = new double[4096];
+    private String[] lastText = new String[4096];
+    private String[] lastQuality = new String[4096];
+    private long[] lastPublishedAt = new long[4096];
+    private byte[] flags = new byte[4096];
+    // slot별 deadband (관제점 최초 등록 시 결정)
+    private double[] absolute = new double[4096];
+    private double[] percent = new double[4096];
+
+    private final Counter passed;
+    private final Counter suppressed;
+
+    public ChangeDetectionFilter(ChangeDetectionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.forceRefreshMs = properties.getForceRefresh().toMillis();
+
+        Gauge.builder("hdt.filter.points", this, f -> f.trackedPoints())
+                .description("변화 감지 캐시 관제점 수")
+                .register(meterRegistry);
+        this.passed = Counter.builder("hdt.filter.items").tag("outcome", "passed").register(meterRegistry);
+        this.suppressed = Counter.builder("hdt.filter.items").tag("outcome", "suppressed").register(meterRegistry);
+    }
+
+    /**
+     * 변화가 있는 item만 남긴 envelope 반환
+     * @return 모든 item이 제거되면 null
+     */
+    public <T> StandardEnvelope<T> apply(StandardEnvelope<T> envelope) {
+        if (!properties.isEnabled() || envelope.getBody() == null || !filterable(envelope)) {
+            return envelope;
+        }
+
+        long now = System.currentTimeMillis();
+        List<StandardBodyItem> body = envelope.getBody();
+        List<StandardBodyItem> changed = new ArrayList<>(body.size());
+        synchronized (this) {
+            for (StandardBodyItem item : body) {
+                if (shouldPublish(item, now)) changed.add(item);
+            }
+        }
+
+        passed.increment(changed.size());
+        suppressed.increment(body.size() - changed.size());
+        if (changed.isEmpty()) return null;
+        if (changed.size() == body.size()) return envelope;
+
+        return StandardEnvelope.<T>builder()
+                .header(envelope.getHeader())
+                .body(changed)
+                .result(envelope.getResult())
+                .build();
+    }
+
+    public synchronized int trackedPoints() {
+        return index.size();
+    }
+
+    private static boolean filterable(StandardEnvelope<?> envelope) {
+        MessageType type = envelope.getHeader() != null ? envelope.getHeader().getMessageType() : null;
+        return type == MessageType.SNAPSHOT || type == MessageType.UPDATE;
+    }
+
+    private boolean shouldPublish(StandardBodyItem item, long now) {
+        String pointCode = item.getPointCode();
+        if (pointCode == null) return true;
+
+        int slot = index.get(pointCode);
+        if (slot < 0) {
+            if (index.size() >= properties.getMaxPoints()) return true;
+            slot = register(pointCode);
+            record(slot, item, now);
+            return true;
+        }
+
+        if (!changed(slot, item, now)) return false;
+        record(slot, item, now);
+        return true;
+    }
+
+    private boolean changed(int slot, StandardBodyItem item, long now) {
+        if (now - lastPublishedAt[slot] >= forceRefreshMs) return true;
+        if (((flags[slot] & F_ALARM) != 0) != Boolean.TRUE.equals(item.getAlarmYn())) return true;
+        if (!Objects.equals(lastQuality[slot], item.getQuality())) return true;
+
+        double number = parseNumber(item.getValue());
+        boolean numeric = !Double.isNaN(number);
+        if (numeric != ((flags[slot] & F_NUMERIC) != 0)) return true;
+        if (!numeric) return !Objects.equals(lastText[slot], item.getValue());
+
+        double last = lastNumber[slot];
+        double diff = Math.abs(number - last);
+        double abs = absolute[slot];
+        double pct = percent[slot];
+        if (abs <= 0 && pct <= 0) return diff != 0;
+        if (abs > 0 && diff > abs) return true;
+        if (pct <= 0) return false;
+        // 0에서 벗어나는 변화는 비율을 정의할 수 없으므로 deadband 초과로 간주
+        if (last == 0) return number != 0;
+        return diff / Math.abs(last) * 100 > pct;
+    }
+
+    private void record(int slot, StandardBodyItem item, long now) {
+        double number = parseNumber(item.getValue());
+        byte f = 0;
+        if (!Double.isNaN(number)) f |= F_NUMERIC;
+        if (Boolean.TRUE.equals(item.getAlarmYn())) f |= F_ALARM;
+        flags[slot] = f;
+        lastNumber[slot] = number;
+        lastText[slot] = numeric(f) ? null : item.getValue();
+        lastQuality[slot] = item.getQuality();
+        lastPublishedAt[slot] = now;
+    }
+
+    private static boolean numeric(byte f) {
+        return (f & F_NUMERIC) != 0;
+    }
+
+    private int register(String pointCode) {
+        int slot = index.getOrAdd(pointCode);
+        if (slot >= flags.length) grow(flags.length << 1);
+
+        ChangeDetectionProperties.Deadband deadband =
+                properties.getPoints().getOrDefault(pointCode, properties.getDefaults());
+        absolute[slot] = deadband.getAbsolute();
+        percent[slot] = deadband.getPercent();
+        return slot;
+    }
+
+    private void grow(int capacity) {
+        lastNumber = Arrays.copyOf(lastNumber, capacity);
+        lastText = Arrays.copyOf(lastText, capacity);
+        lastQuality = Arrays.copyOf(lastQuality, capacity);
+        lastPublishedAt = Arrays.copyOf(lastPublishedAt, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        absolute = Arrays.copyOf(absolute, capacity);
+        percent = Arrays.copyOf(percent, capacity);
+    }
+
+    /**
+     * 숫자 값 파싱 (불리언/문자열 등 숫자가 아니면 NaN)
+     */
+    private static double parseNumber(String value) {
+        if (value == null || value.isEmpty()) return Double.NaN;
+        char c = value.charAt(0);
+        if (!(c == '-' || c == '+' || c == '.' || (c >= '0' && c <= '9'))) return Double.NaN;
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.mpole.hdt.gateway.ingestion.filter;
+
+/**
+ * pointCode → slot 번호 사전 (open addressing, 선형 탐사)
+ * slot 번호는 0부터 순서대로 발급되며 ChangeDetectionFilter의 primitive 배열 인덱스로 사용
+ * Thread-safe 아님 (호출 측에서 동기화)
+ */
+final class PointSlotIndex {
+    private String[] keys;
+    private int[] slots;
+    private int mask;
+    private int size;
+
+    PointSlotIndex(int initialCapacity) {
+        int cap = Integer.highestOneBit(Math.max(16, initialCapacity * 2 - 1)) << 1;
+        keys = new String[cap];
+        slots = new int[cap];
+        mask = cap - 1;
+    }
+
+    /**
+     * @return slot 번호, 없으면 -1
+     */
+    int get(String key) {
+        int i = hash(key) & mask;
+        String k;
+        while ((k = keys[i]) != null) {
+            if (k.equals(key)) return slots[i];
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * 없으면 새 slot 발급 (= 현재 size)
+     */
+    int getOrAdd(String key) {
+        int i = hash(key) & mask;
+        String k;
+        while ((k = keys[i]) != null) {
+            if (k.equals(key)) return slots[i];
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        slots[i] = size;
+        int slot = size++;
+        if (size * 2 > keys.length) resize();
+        return slot;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize() {
+        String[] oldKeys = keys;
+        int[] oldSlots = slots;
+        keys = new String[oldKeys.length << 1];
+        slots = new int[keys.length];
+        mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == null) continue;
+            int i = hash(oldKeys[j]) & mask;
+            while (keys[i] != null) i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            slots[i] = oldSlots[j];
+        }
+    }
+
+    private static int hash(String key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,327 @@
+package com.mpole.hdt.gateway.ingestion.publisher;
+
+import com.mpole.hdt.gateway.infrastructure.external.dto.StandardBodyItem;
+import com.mpole.hdt.gateway.infrastructure.external.dto.StandardEnvelope;
+import com.mpole.hdt.gateway.infrastructure.external.dto.StandardHeader;
+import com.mpole.hdt.gateway.infrastructure.external.dto.StandardStreamRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Micro-Batch 발행기
+ * - publish() 호출을 건수(maxItems) 또는 시간창(window) 기준으로 모아 /internal/events/batch 1회 요청으로 전송
+ * - 배치 요청은 maxInFlight 개까지 동시에 전송 (응답 대기 중에도 다음 배치 전송)
+ * - 재시도 분류는 HttpEventPublisher와 동일 (202 성공 / 4xx 재시도 금지 / 5xx·네트워크 재시도)
+ * - 배치가 4xx로 거절되면 건별(HttpEventPublisher)로 재전송하여 불량 건만 실패 처리
+ * - format=ndjson 이면 /internal/events/stream 으로 header/item 줄 단위 스트리밍 전송
+ * - 원문 발행(publishRaw)은 배치 대상이 아님 → HttpEventPublisher로 건별 전달
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "hdt.publisher.batch", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BatchingEventPublisher<T> implements EventPublisher<T> {
+
+    private final WebClient webClient;
+    private final HttpEventPublisher<T> singlePublisher;
+
+    private final int maxItems;
+    private final Duration window;
+    private final int maxInFlight;
+    private final int maxQueuedBatches;
+    private final Format format;
+
+    // 누적 중인 배치 (lock 보호)
+    private final Object lock = new Object();
+    private List<Pending<T>> current = new ArrayList<>();
+    private int currentItems = 0;
+    private long generation = 0;
+    private Disposable windowTimer;
+
+    // 전송 대기 배치 큐 → flatMap(maxInFlight) 전송 파이프라인
+    private final Sinks.Many<List<Pending<T>>> batchSink = Sinks.many().unicast().onBackpressureBuffer();
+    private final AtomicInteger queuedBatches = new AtomicInteger();
+
+    private final DistributionSummary batchSize;
+    private final Counter batchAccepted;
+    private final Counter batchIsolated;
+    private final Counter batchFailed;
+    private final Counter itemAccepted;
+    private final Counter itemRejected;
+    private final Counter itemFailed;
+
+    public BatchingEventPublisher(
+            @Qualifier("eventServerWebClient") WebClient webClient,
+            HttpEventPublisher<T> singlePublisher,
+            MeterRegistry meterRegistry,
+            @Value("${hdt.publisher.batch.max-items:500}") int maxItems,
+            @Value("${hdt.publisher.batch.window:20ms}") Duration window,
+            @Value("${hdt.publisher.batch.max-in-flight:4}") int maxInFlight,
+            @Value("${hdt.publisher.batch.max-queued-batches:64}") int maxQueuedBatches,
+            @Value("${hdt.publisher.batch.format:json}") Format format
+    ) {
+        this.webClient = webClient;
+        this.singlePublisher = singlePublisher;
+        this.maxItems = maxItems;
+        this.window = window;
+        this.maxInFlight = maxInFlight;
+        this.maxQueuedBatches = maxQueuedBatches;
+        this.format = format;
+
+        this.batchSize = DistributionSummary.builder("hdt.publisher.batch.size")
+                .description("배치당 envelope 건수")
+                .register(meterRegistry);
+        this.batchAccepted = batchCounter(meterRegistry, "accepted");
+        this.batchIsolated = batchCounter(meterRegistry, "isolated");
+        this.batchFailed = batchCounter(meterRegistry, "failed");
+        this.itemAccepted = itemCounter(meterRegistry, "accepted");
+        this.itemRejected = itemCounter(meterRegistry, "rejected");
+        this.itemFailed = itemCounter(meterRegistry, "failed");
+
+        batchSink.asFlux()
+                .doOnNext(batch -> queuedBatches.decrementAndGet())
+                .flatMap(this::send, maxInFlight)
+                .subscribe();
+    }
+
+    @Override
+    public Mono<Void> publish(StandardEnvelope<T> envelope) {
+        return Mono.defer(() -> {
+            Sinks.One<Void> result = Sinks.one();
+            enqueue(new Pending<>(envelope, result));
+            return result.asMono();
+        });
+    }
+
+    /**
+     * 원문 버퍼는 호출 측이 해제하므로 배치에 보관하지 않고 즉시 건별 전송
+     */
+    @Override
+    public Mono<Void> publishRaw(StandardHeader header, DataBuffer body) {
+        return singlePublisher.publishRaw(header, body);
+    }
+
+    private void enqueue(Pending<T> pending) {
+        synchronized (lock) {
+            current.add(pending);
+            currentItems += itemCount(pending.envelope());
+
+            if (currentItems >= maxItems) {
+                flushLocked();
+            } else if (current.size() == 1) {
+                // 배치의 첫 건 도착 시점부터 시간창 시작
+                long gen = generation;
+                windowTimer = Schedulers.parallel().schedule(() -> flushOnWindow(gen),
+                        window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void flushOnWindow(long gen) {
+        synchronized (lock) {
+            if (gen == generation && !current.isEmpty()) {
+                flushLocked();
+            }
+        }
+    }
+
+    private void flushLocked() {
+        List<Pending<T>> batch = current;
+        current = new ArrayList<>();
+        currentItems = 0;
+        generation++;
+        if (windowTimer != null) {
+            windowTimer.dispose();
+            windowTimer = null;
+        }
+
+        // 전송 대기 배치가 너무 많으면 다운스트림 적체로 보고 재시도 가능 오류로 반환 (상위에서 재시도/보관)
+        if (queuedBatches.incrementAndGet() > maxQueuedBatches) {
+            queuedBatches.decrementAndGet();
+            RuntimeException e = new HttpEventPublisher.RetryablePublishException(
+                    "BATCH", 503, "publisher backpressure: queued batches > " + maxQueuedBatches);
+            batch.forEach(p -> p.result().tryEmitError(e));
+            batchFailed.increment();
+            itemFailed.increment(batch.size());
+            return;
+        }
+
+        Sinks.EmitResult emit = batchSink.tryEmitNext(batch);
+        if (emit.isFailure()) {
+            queuedBatches.decrementAndGet();
+            RuntimeException e = new IllegalStateException("batch pipeline closed: " + emit);
+            batch.forEach(p -> p.result().tryEmitError(e));
+        }
+    }
+
+    /**
+     * 배치 전송
+     * 스트림 수신은 오류 응답 전에 일부 item을 적재할 수 있으므로 (X-Accepted-Count),
+     * 재시도/건별 분리는 적재되지 않은 나머지에 대해서만 수행 (중복 적재 방지)
+     */
+    private Mono<Void> send(List<Pending<T>> batch) {
+        String batchId = UUID.randomUUID().toString();
+        batchSize.record(batch.size());
+        AtomicReference<List<Pending<T>>> remaining = new AtomicReference<>(batch);
+
+        return Mono.defer(() -> remaining.get().isEmpty() ? Mono.<Void>empty() : request(remaining.get())
+                        .header("X-Batch-Id", batchId)
+                        .header("X-Batch-Size", String.valueOf(remaining.get().size()))
+                        .exchangeToMono(resp -> HttpEventPublisher.toPublishResult(resp, "BATCH:" + batchId)))
+                .doOnError(e -> remaining.set(skipAccepted(remaining.get(), HttpEventPublisher.acceptedCount(e))))
+                .retryWhen(HttpEventPublisher.retrySpec())
+                .then(Mono.fromRunnable(() -> {
+                    batchAccepted.increment();
+                    complete(remaining.get());
+                }))
+                .onErrorResume(HttpEventPublisher.NonRetryablePublishException.class, e -> {
+                    List<Pending<T>> rest = remaining.get();
+                    if (rest.isEmpty()) return Mono.empty();
+                    if (rest.size() == 1) {
+                        failAll(rest, e, itemRejected);
+                        return Mono.empty();
+                    }
+                    log.warn("[Publish] batch rejected, isolating per item batchId={} size={}", batchId, rest.size(), e);
+                    batchIsolated.increment();
+                    return isolate(rest);
+                })
+                .onErrorResume(e -> {
+                    List<Pending<T>> rest = remaining.get();
+                    log.warn("[Publish] batch fail batchId={} size={}", batchId, rest.size(), e);
+                    if (!rest.isEmpty()) failAll(rest, e, itemFailed);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * 앞에서부터 accepted 개 item을 적재 완료 처리하고 나머지 반환
+     * envelope 중간까지 적재됐으면 남은 item만 담은 envelope로 교체
+     */
+    private List<Pending<T>> skipAccepted(List<Pending<T>> batch, long accepted) {
+        if (accepted <= 0) return batch;
+        List<Pending<T>> rest = new ArrayList<>(batch.size());
+        long left = accepted;
+        for (Pending<T> p : batch) {
+            List<StandardBodyItem> body = p.envelope().getBody();
+            int items = (body != null) ? body.size() : 0;
+            if (left >= items && left > 0) {
+                left -= items;
+                complete(List.of(p));
+            } else if (left > 0) {
+                StandardEnvelope<T> tail = StandardEnvelope.<T>builder()
+                        .header(p.envelope().getHeader())
+                        .body(new ArrayList<>(body.subList((int) left, items)))
+                        .result(p.envelope().getResult())
+                        .build();
+                rest.add(new Pending<>(tail, p.result()));
+                left = 0;
+            } else {
+                rest.add(p);
+            }
+        }
+        return rest;
+    }
+
+    private void complete(List<Pending<T>> pending) {
+        itemAccepted.increment(pending.size());
+        pending.forEach(p -> p.result().tryEmitEmpty());
+    }
+
+    /**
+     * 전송 포맷별 요청 본문
+     * - json: envelope 배열 1개 (수신 측에서 배열 전체 역직렬화)
+     * - ndjson: header/item 줄 단위 스트림 (수신 측에서 줄 단위로 파싱·적재)
+     */
+    private WebClient.RequestHeadersSpec<?> request(List<Pending<T>> batch) {
+        if (format == Format.NDJSON) {
+            Flux<StandardStreamRecord> records = Flux.fromIterable(batch)
+                    .concatMapIterable(p -> StandardStreamRecord.of(p.envelope()));
+            return webClient.post()
+                    .uri("/internal/events/stream")
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(records, StandardStreamRecord.class);
+        }
+        List<StandardEnvelope<T>> envelopes = batch.stream().map(Pending::envelope).toList();
+        return webClient.post()
+                .uri("/internal/events/batch")
+                .bodyValue(envelopes);
+    }
+
+    /**
+     * 4xx 배치 → 건별 재전송으로 불량 envelope만 실패 처리
+     */
+    private Mono<Void> isolate(List<Pending<T>> batch) {
+        return Flux.fromIterable(batch)
+                .flatMap(p -> singlePublisher.publish(p.envelope())
+                        .doOnSuccess(v -> {
+                            itemAccepted.increment();
+                            p.result().tryEmitEmpty();
+                        })
+                        .onErrorResume(e -> {
+                            (HttpEventPublisher.isRetryable(e) ? itemFailed : itemRejected).increment();
+                            p.result().tryEmitError(e);
+                            return Mono.empty();
+                        }), maxInFlight)
+                .then();
+    }
+
+    private void failAll(List<Pending<T>> batch, Throwable e, Counter counter) {
+        batchFailed.increment();
+        counter.increment(batch.size());
+        batch.forEach(p -> p.result().tryEmitError(e));
+    }
+
+    private static int itemCount(StandardEnvelope<?> envelope) {
+        return (envelope != null && envelope.getBody() != null) ? Math.max(1, envelope.getBody().size()) : 1;
+    }
+
+    private static Counter batchCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("hdt.publisher.batches").tag("outcome", outcome).register(registry);
+    }
+
+    private static Counter itemCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("hdt.publisher.envelopes").tag("outcome", outcome).register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (lock) {
+            if (!current.isEmpty()) {
+                flushLocked();
+            }
+        }
+        batchSink.tryEmitComplete();
+        log.info("[Publish] batching publisher stopped");
+    }
+
+    public enum Format {
+        JSON,
+        NDJSON
+    }
+
+    private record Pending<T>(StandardEnvelope<T> envelope, Sinks.One<Void> result) {
+    }
+}
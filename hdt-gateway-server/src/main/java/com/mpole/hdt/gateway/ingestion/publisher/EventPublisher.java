@@ -1,6 +1,8 @@
 package com.mpole.hdt.gateway.ingestion.publisher;
 
 import com.mpole.hdt.gateway.infrastructure.external.dto.StandardEnvelope;
+import com.mpole.hdt.gateway.infrastructure.external.dto.StandardHeader;
+import org.springframework.core.io.buffer.DataBuffer;
 import reactor.core.publisher.Mono;
 
 public interface EventPublisher<T> {
@@ -9,4 +11,11 @@ public interface EventPublisher<T> {
      * 구현체 교체만으로 HTTP -> Kafka 전환 가능
      */
     Mono<Void> publish(StandardEnvelope<T> envelope);
+
+    /**
+     * 이미 표준 형식인 전문 원문(JSON)을 재직렬화 없이 발행
+     * header: Gateway가 보정한 trxId/timestamp (원문 헤더 대신 요청 헤더로 전달)
+     * body 버퍼의 해제는 호출 측 책임 (구현체는 읽기 위치를 변경하지 않음)
+     */
+    Mono<Void> publishRaw(StandardHeader header, DataBuffer body);
 }
@@ -1,17 +1,25 @@
 package com.mpole.hdt.gateway.ingestion.publisher;
 
 import com.mpole.hdt.gateway.infrastructure.external.dto.StandardEnvelope;
+import com.mpole.hdt.gateway.infrastructure.external.dto.StandardHeader;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeoutException;
 
 @Slf4j
@@ -30,30 +38,102 @@ public class HttpEventPublisher<T> implements EventPublisher<T> {
                 .uri("/internal/events")
                 .header("X-Trx-Id", trxId)
                 .bodyValue(envelope)
-                .exchangeToMono(resp -> {
-                    HttpStatusCode sc = resp.statusCode();
-
-                    // 성공은 202만 인정 (계약 강제)
-                    if (sc.value() == 202) return Mono.empty();
-
-                    // 4xx: 재시도 금지 (데이터/요청이 잘못됨)
-                    if (sc.is4xxClientError()) {
-                        return resp.bodyToMono(String.class).defaultIfEmpty("")
-                                .flatMap(body -> Mono.error(new NonRetryablePublishException(trxId, sc.value(), body)));
-                    }
-
-                    // 5xx 또는 기타: 재시도 대상
-                    return resp.bodyToMono(String.class).defaultIfEmpty("")
-                            .flatMap(body -> Mono.error(new RetryablePublishException(trxId, sc.value(), body)));
-                })
+                .exchangeToMono(resp -> toPublishResult(resp, trxId))
                 .doOnError(e -> log.warn("[Publish] fail trxId={}", trxId, e))
-                .retryWhen(Retry.backoff(3, Duration.ofMillis(500))
-                        .filter(this::isRetryable)
-                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .retryWhen(retrySpec())
                 .then();
     }
 
-    private boolean isRetryable(Throwable t) {
+    /**
+     * 원문 그대로 전달 (push 수신 경로)
+     * 재시도마다 원본 버퍼의 읽기 전용 view를 새로 만들어 전송 (복사/재직렬화 없음, 원본 읽기 위치 유지)
+     */
+    @Override
+    public Mono<Void> publishRaw(StandardHeader header, DataBuffer body) {
+        String trxId = header.getTrxId();
+
+        return webClient.post()
+                .uri("/internal/events")
+                .header("X-Trx-Id", trxId)
+                .header("X-Received-At", header.getTimestamp())
+                .body(BodyInserters.fromDataBuffers(readOnlyViews(body)))
+                .exchangeToMono(resp -> toPublishResult(resp, trxId))
+                .doOnError(e -> log.warn("[Publish] raw fail trxId={}", trxId, e))
+                .retryWhen(retrySpec())
+                .then();
+    }
+
+    private static Flux<DataBuffer> readOnlyViews(DataBuffer body) {
+        return Flux.defer(() -> {
+            List<DataBuffer> views = new ArrayList<>(1);
+            try (DataBuffer.ByteBufferIterator it = body.readableByteBuffers()) {
+                while (it.hasNext()) {
+                    views.add(DefaultDataBufferFactory.sharedInstance.wrap(it.next().asReadOnlyBuffer()));
+                }
+            }
+            return Flux.fromIterable(views);
+        });
+    }
+
+    /**
+     * 응답 상태코드를 발행 결과로 변환 (단건/배치 공통 계약)
+     * - 202: 성공
+     * - 429: RetryablePublishException (Event Server 버퍼 포화)
+     * - 4xx: NonRetryablePublishException
+     * - 5xx/기타: RetryablePublishException
+     * - X-Accepted-Count (스트림 수신): 오류 응답 전에 이미 적재된 item 수 → 예외의 acceptedCount
+     */
+    static Mono<Void> toPublishResult(ClientResponse resp, String trxId) {
+        HttpStatusCode sc = resp.statusCode();
+        long accepted = acceptedCount(resp);
+
+        // 성공은 202만 인정 (계약 강제)
+        if (sc.value() == 202) return resp.releaseBody();
+
+        // 429: 일시적 적체 → 재시도 대상
+        if (sc.value() == 429) {
+            return resp.releaseBody()
+                    .then(Mono.error(new RetryablePublishException(trxId, sc.value(),
+                            "Retry-After=" + resp.headers().asHttpHeaders().getFirst("Retry-After"), accepted)));
+        }
+
+        // 4xx: 재시도 금지 (데이터/요청이 잘못됨)
+        if (sc.is4xxClientError()) {
+            return resp.bodyToMono(String.class).defaultIfEmpty("")
+                    .flatMap(body -> Mono.error(new NonRetryablePublishException(trxId, sc.value(), body, accepted)));
+        }
+
+        // 5xx 또는 기타: 재시도 대상
+        return resp.bodyToMono(String.class).defaultIfEmpty("")
+                .flatMap(body -> Mono.error(new RetryablePublishException(trxId, sc.value(), body, accepted)));
+    }
+
+    private static long acceptedCount(ClientResponse resp) {
+        String value = resp.headers().asHttpHeaders().getFirst("X-Accepted-Count");
+        if (value == null) return 0;
+        try {
+            return Math.max(0, Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 오류 응답 전에 수신 측이 이미 적재한 item 수 (부분 적재가 없는 경로는 0)
+     */
+    public static long acceptedCount(Throwable t) {
+        if (t instanceof RetryablePublishException e) return e.acceptedCount();
+        if (t instanceof NonRetryablePublishException e) return e.acceptedCount();
+        return 0;
+    }
+
+    static Retry retrySpec() {
+        return Retry.backoff(3, Duration.ofMillis(500))
+                .filter(HttpEventPublisher::isRetryable)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    public static boolean isRetryable(Throwable t) {
         // 5xx 계열(우리가 명시한 RetryablePublishException) + 네트워크/타임아웃만 재시도
         return t instanceof RetryablePublishException
                 || t instanceof TimeoutException
@@ -61,14 +141,36 @@ public class HttpEventPublisher<T> implements EventPublisher<T> {
     }
 
     public static class RetryablePublishException extends RuntimeException {
+        private final long acceptedCount;
+
         public RetryablePublishException(String trxId, int status, String body) {
+            this(trxId, status, body, 0);
+        }
+
+        public RetryablePublishException(String trxId, int status, String body, long acceptedCount) {
             super("Retryable publish failure trxId=" + trxId + " status=" + status + " body=" + body);
+            this.acceptedCount = acceptedCount;
+        }
+
+        public long acceptedCount() {
+            return acceptedCount;
         }
     }
 
     public static class NonRetryablePublishException extends RuntimeException {
+        private final long acceptedCount;
+
         public NonRetryablePublishException(String trxId, int status, String body) {
+            this(trxId, status, body, 0);
+        }
+
+        public NonRetryablePublishException(String trxId, int status, String body, long acceptedCount) {
             super("Non-retryable publish failure trxId=" + trxId + " status=" + status + " body=" + body);
+            this.acceptedCount = acceptedCount;
+        }
+
+        public long acceptedCount() {
+            return acceptedCount;
         }
     }
 }
\ No newline at end of file
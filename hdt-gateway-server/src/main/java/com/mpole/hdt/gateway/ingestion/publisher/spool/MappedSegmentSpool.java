@@ -0,0 +1,307 @@
+package com.mpole.hdt.gateway.ingestion.publisher.spool;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Memory-mapped append-only 디스크 스풀
+ * - 고정 크기 세그먼트 파일(spool-000000000001.seg ...)에 레코드를 순서대로 append
+ * - 레코드: [int length][byte state][int crc32c][payload]  (length == 0 이면 세그먼트 끝)
+ * - ack 시 state 바이트를 ACKED로 표시, 모두 ack된 세그먼트는 삭제
+ * - 재기동 시 세그먼트를 스캔하여 미처리(READY) 레코드부터 이어서 재생
+ * - 디스크 사용량 상한 = segmentSize * maxSegments (초과 시 append 거부)
+ * Thread-safe (모든 public 메서드 동기화)
+ */
+@Slf4j
+public class MappedSegmentSpool implements Closeable {
+
+    static final int HEADER_SIZE = 4 + 1 + 4;
+    private static final byte STATE_READY = 1;
+    private static final byte STATE_ACKED = 2;
+    private static final String SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private long nextSegmentId = 1;
+    private long pendingRecords = 0;
+
+    public MappedSegmentSpool(Path directory, int segmentSize, int maxSegments) {
+        if (segmentSize <= HEADER_SIZE) throw new IllegalArgumentException("segmentSize too small: " + segmentSize);
+        if (maxSegments < 1) throw new IllegalArgumentException("maxSegments must be >= 1");
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("spool open failed: " + directory, e);
+        }
+    }
+
+    /**
+     * 레코드 추가
+     * @return false: 디스크 상한 초과로 적재 불가
+     */
+    public synchronized boolean append(byte[] payload) {
+        if (payload.length == 0) throw new IllegalArgumentException("empty payload");
+        int recordSize = HEADER_SIZE + payload.length;
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("record larger than segment: " + recordSize + " > " + segmentSize);
+        }
+
+        Segment tail = segments.peekLast();
+        if (tail == null || tail.writePos + recordSize > segmentSize) {
+            if (segments.size() >= maxSegments) {
+                return false;
+            }
+            if (tail != null) tail.buffer.force();  // 롤오버 시점에 이전 세그먼트 flush
+            tail = createSegment(nextSegmentId++);
+            segments.addLast(tail);
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+
+        MappedByteBuffer buf = tail.buffer;
+        int pos = tail.writePos;
+        buf.put(pos + 4, STATE_READY);
+        buf.putInt(pos + 5, (int) crc.getValue());
+        buf.put(pos + HEADER_SIZE, payload);
+        buf.putInt(pos, payload.length);    // length는 마지막에 기록 (부분 기록 레코드는 끝으로 인식)
+        tail.writePos = pos + recordSize;
+        pendingRecords++;
+        return true;
+    }
+
+    /**
+     * 가장 오래된 미처리 레코드부터 최대 max 건 조회 (커서 이동 없음)
+     */
+    public synchronized List<SpoolRecord> peek(int max) {
+        List<SpoolRecord> result = new ArrayList<>(Math.min(max, 256));
+        Iterator<Segment> it = segments.iterator();
+        while (it.hasNext() && result.size() < max) {
+            Segment seg = it.next();
+            int pos = seg.readPos;
+            while (pos < seg.writePos && result.size() < max) {
+                int length = seg.buffer.getInt(pos);
+                if (seg.buffer.get(pos + 4) == STATE_READY) {
+                    byte[] payload = new byte[length];
+                    seg.buffer.get(pos + HEADER_SIZE, payload);
+                    result.add(new SpoolRecord(seg.id, pos, payload));
+                }
+                pos += HEADER_SIZE + length;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 레코드 처리 완료 표시 (peek 순서대로 호출)
+     * 읽기 위치가 끝난 세그먼트(쓰기 세그먼트 제외)는 삭제
+     */
+    public synchronized void ack(SpoolRecord record) {
+        for (Segment seg : segments) {
+            if (seg.id != record.segmentId()) continue;
+            if (seg.buffer.get(record.offset() + 4) == STATE_READY) {
+                seg.buffer.put(record.offset() + 4, STATE_ACKED);
+                pendingRecords--;
+            }
+            advanceReadPos(seg);
+            break;
+        }
+        reclaim();
+    }
+
+    public synchronized long pendingRecords() {
+        return pendingRecords;
+    }
+
+    public synchronized boolean isEmpty() {
+        return pendingRecords == 0;
+    }
+
+    /** 현재 점유 중인 디스크 용량 (세그먼트 파일 크기 합) */
+    public synchronized long usedBytes() {
+        return (long) segments.size() * segmentSize;
+    }
+
+    public long capacityBytes() {
+        return (long) segmentSize * maxSegments;
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Segment seg : segments) {
+            seg.buffer.force();
+            unmap(seg.buffer);
+        }
+        segments.clear();
+    }
+
+    // ==================== 내부 ====================
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+
+        for (Path file : files) {
+            long id = parseId(file);
+            if (id < 0) continue;
+            nextSegmentId = Math.max(nextSegmentId, id + 1);
+
+            Segment seg = mapSegment(id, file);
+            scan(seg);
+            if (seg.readPos >= seg.writePos) {
+                // 모두 처리된 세그먼트
+                unmap(seg.buffer);
+                Files.deleteIfExists(file);
+                continue;
+            }
+            segments.addLast(seg);
+        }
+
+        if (pendingRecords > 0) {
+            log.info("[Spool] recovered {} pending records in {} segments ({})", pendingRecords, segments.size(), directory);
+        }
+    }
+
+    private void scan(Segment seg) {
+        MappedByteBuffer buf = seg.buffer;
+        int pos = 0;
+        int firstReady = -1;
+        while (pos + HEADER_SIZE <= segmentSize) {
+            int length = buf.getInt(pos);
+            if (length <= 0 || pos + HEADER_SIZE + length > segmentSize) break;
+
+            byte state = buf.get(pos + 4);
+            if (state != STATE_READY && state != STATE_ACKED) break;
+
+            byte[] payload = new byte[length];
+            buf.get(pos + HEADER_SIZE, payload);
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            if ((int) crc.getValue() != buf.getInt(pos + 5)) {
+                log.warn("[Spool] crc mismatch segment={} offset={}, truncating tail", seg.id, pos);
+                break;
+            }
+
+            if (state == STATE_READY) {
+                pendingRecords++;
+                if (firstReady < 0) firstReady = pos;
+            }
+            pos += HEADER_SIZE + length;
+        }
+
+        // 손상/부분 기록 영역은 0으로 초기화하여 이후 append와 섞이지 않게 함
+        if (pos + 4 <= segmentSize && buf.getInt(pos) != 0) {
+            for (int i = pos; i < segmentSize; i++) {
+                buf.put(i, (byte) 0);
+            }
+        }
+        seg.writePos = pos;
+        seg.readPos = firstReady < 0 ? pos : firstReady;
+    }
+
+    private void advanceReadPos(Segment seg) {
+        int pos = seg.readPos;
+        while (pos < seg.writePos && seg.buffer.get(pos + 4) == STATE_ACKED) {
+            pos += HEADER_SIZE + seg.buffer.getInt(pos);
+        }
+        seg.readPos = pos;
+    }
+
+    private void reclaim() {
+        while (segments.size() > 1) {
+            Segment head = segments.peekFirst();
+            if (head.readPos < head.writePos) break;
+            segments.pollFirst();
+            unmap(head.buffer);
+            try {
+                Files.deleteIfExists(head.file);
+            } catch (IOException e) {
+                log.warn("[Spool] segment delete failed: {}", head.file, e);
+            }
+        }
+    }
+
+    private Segment createSegment(long id) {
+        Path file = directory.resolve(String.format("spool-%012d%s", id, SUFFIX));
+        try {
+            return mapSegment(id, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("segment create failed: " + file, e);
+        }
+    }
+
+    private Segment mapSegment(long id, Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = ch.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            return new Segment(id, file, buffer);
+        }
+    }
+
+    private static long parseId(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring("spool-".length(), name.length() - SUFFIX.length()));
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 매핑 해제 (Windows에서 파일 삭제가 가능하도록). 실패 시 GC에 맡김
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field f = unsafeClass.getDeclaredField("theUnsafe");
+            f.setAccessible(true);
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", java.nio.ByteBuffer.class);
+            invokeCleaner.invoke(f.get(null), buffer);
+        } catch (ReflectiveOperationException | RuntimeException ignored) {
+            // no-op
+        }
+    }
+
+    private static final class Segment {
+        final long id;
+        final Path file;
+        final MappedByteBuffer buffer;
+        int writePos;
+        int readPos;
+
+        Segment(long id, Path file, MappedByteBuffer buffer) {
+            this.id = id;
+            this.file = file;
+            this.buffer = buffer;
+        }
+    }
+
+    public record SpoolRecord(long segmentId, int offset, byte[] payload) {
+    }
+}
@@ -0,0 +1,256 @@
+package com.mpole.hdt.gateway.ingestion.publisher.spool;
+
+import com.mpole.hdt.gateway.infrastructure.external.dto.StandardEnvelope;
+import com.mpole.hdt.gateway.infrastructure.external.dto.StandardHeader;
+import com.mpole.hdt.gateway.ingestion.publisher.BatchingEventPublisher;
+import com.mpole.hdt.gateway.ingestion.publisher.EventPublisher;
+import com.mpole.hdt.gateway.ingestion.publisher.HttpEventPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Write-Ahead Spool 발행기 (EventPublisher 최상위 구현체)
+ * - 정상 시: 하위 발행기(Batching → Http)로 그대로 위임
+ * - 재시도 소진/적체(RetryablePublishException, 네트워크 오류) 시: envelope를 디스크 스풀에 적재하고 성공 처리
+ * - 스풀에 미처리 건이 있으면 신규 envelope도 스풀 뒤에 적재하여 순서 유지
+ * - 백그라운드 replay가 다운스트림 복구 시 오래된 순서대로 재전송 (at-least-once)
+ */
+@Slf4j
+@Primary
+@Component
+public class SpoolingEventPublisher<T> implements EventPublisher<T> {
+
+    private final EventPublisher<T> delegate;
+    private final HttpEventPublisher<T> rawPublisher;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final DataSize segmentSize;
+    private final int maxSegments;
+    private final Duration replayInterval;
+    private final int replayChunk;
+
+    private MappedSegmentSpool spool;
+    private Scheduler replayScheduler;
+    private Disposable replayLoop;
+
+    private Counter appended;
+    private Counter replayed;
+    private Counter droppedFull;
+    private Counter droppedRejected;
+    private Counter droppedCorrupt;
+
+    public SpoolingEventPublisher(
+            ObjectProvider<BatchingEventPublisher<T>> batchingPublisher,
+            HttpEventPublisher<T> httpPublisher,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${hdt.publisher.spool.enabled:true}") boolean enabled,
+            @Value("${hdt.publisher.spool.directory:./data/spool}") Path directory,
+            @Value("${hdt.publisher.spool.segment-size:64MB}") DataSize segmentSize,
+            @Value("${hdt.publisher.spool.max-segments:16}") int maxSegments,
+            @Value("${hdt.publisher.spool.replay-interval:500ms}") Duration replayInterval,
+            @Value("${hdt.publisher.spool.replay-chunk:500}") int replayChunk
+    ) {
+        BatchingEventPublisher<T> batching = batchingPublisher.getIfAvailable();
+        this.delegate = (batching != null) ? batching : httpPublisher;
+        this.rawPublisher = httpPublisher;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        this.replayInterval = replayInterval;
+        this.replayChunk = replayChunk;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("[Spool] disabled, publishing without disk spool");
+            return;
+        }
+
+        spool = new MappedSegmentSpool(directory, (int) segmentSize.toBytes(), maxSegments);
+
+        Gauge.builder("hdt.publisher.spool.depth", spool, MappedSegmentSpool::pendingRecords)
+                .description("스풀 미처리 envelope 건수")
+                .register(meterRegistry);
+        Gauge.builder("hdt.publisher.spool.used.bytes", spool, MappedSegmentSpool::usedBytes)
+                .description("스풀 세그먼트 디스크 사용량")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        appended = Counter.builder("hdt.publisher.spool.appended").register(meterRegistry);
+        replayed = Counter.builder("hdt.publisher.spool.replayed").register(meterRegistry);
+        droppedFull = dropCounter("full");
+        droppedRejected = dropCounter("rejected");
+        droppedCorrupt = dropCounter("corrupt");
+
+        replayScheduler = Schedulers.newSingle("spool-replay");
+        replayLoop = Flux.interval(replayInterval, replayScheduler)
+                .onBackpressureDrop()
+                .concatMap(tick -> replayChunk()
+                        .expand(acked -> acked == replayChunk ? replayChunk() : Mono.empty())
+                        .onErrorResume(e -> {
+                            log.warn("[Spool] replay error", e);
+                            return Mono.empty();
+                        }), 0)
+                .subscribe();
+
+        log.info("[Spool] enabled dir={} capacity={}MB pending={}",
+                directory, spool.capacityBytes() / (1024 * 1024), spool.pendingRecords());
+    }
+
+    @Override
+    public Mono<Void> publish(StandardEnvelope<T> envelope) {
+        if (!enabled) {
+            return delegate.publish(envelope);
+        }
+        return Mono.defer(() -> {
+            // 스풀에 밀린 건이 있으면 순서 보장을 위해 뒤에 적재
+            if (!spool.isEmpty()) {
+                return append(envelope);
+            }
+            return delegate.publish(envelope)
+                    .onErrorResume(HttpEventPublisher::isRetryable, e -> {
+                        log.warn("[Spool] downstream unavailable, spooling trxId={}: {}", trxId(envelope), e.toString());
+                        return append(envelope);
+                    });
+        });
+    }
+
+    /**
+     * 원문 전달 (push 수신): 배치 없이 단건 원문 전송
+     * 실패 시에만 원문을 역직렬화하여 스풀에 적재
+     */
+    @Override
+    public Mono<Void> publishRaw(StandardHeader header, DataBuffer body) {
+        if (!enabled) {
+            return rawPublisher.publishRaw(header, body);
+        }
+        return Mono.defer(() -> {
+            if (!spool.isEmpty()) {
+                return Mono.fromCallable(() -> decode(header, body)).flatMap(this::append);
+            }
+            return rawPublisher.publishRaw(header, body)
+                    .onErrorResume(HttpEventPublisher::isRetryable, e -> {
+                        log.warn("[Spool] downstream unavailable, spooling raw trxId={}: {}", header.getTrxId(), e.toString());
+                        return Mono.fromCallable(() -> decode(header, body)).flatMap(this::append);
+                    });
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private StandardEnvelope<T> decode(StandardHeader header, DataBuffer body) {
+        int readPosition = body.readPosition();
+        try {
+            StandardEnvelope<T> envelope = objectMapper.readValue(body.asInputStream(), StandardEnvelope.class);
+            envelope.setHeader(header);
+            return envelope;
+        } finally {
+            body.readPosition(readPosition);
+        }
+    }
+
+    private Mono<Void> append(StandardEnvelope<T> envelope) {
+        return Mono.fromRunnable(() -> {
+            byte[] bytes = objectMapper.writeValueAsBytes(envelope);
+            if (!spool.append(bytes)) {
+                droppedFull.increment();
+                throw new SpoolFullException(trxId(envelope), spool.capacityBytes());
+            }
+            appended.increment();
+        });
+    }
+
+    /**
+     * 가장 오래된 레코드부터 최대 replayChunk 건 재전송
+     * 앞에서부터 연속으로 성공한 건까지만 ack (실패 이후 건은 다음 주기에 재전송)
+     * @return ack 건수
+     */
+    private Mono<Integer> replayChunk() {
+        return Mono.defer(() -> {
+            List<MappedSegmentSpool.SpoolRecord> records = spool.peek(replayChunk);
+            if (records.isEmpty()) return Mono.empty();
+
+            return Flux.fromIterable(records)
+                    .flatMapSequential(this::replayOne)
+                    .takeWhile(done -> done)
+                    .index()
+                    .doOnNext(t -> spool.ack(records.get(t.getT1().intValue())))
+                    .count()
+                    .map(Long::intValue)
+                    .doOnNext(replayed::increment);
+        });
+    }
+
+    /**
+     * @return true: 처리 완료(성공 또는 폐기) / false: 재시도 필요
+     */
+    @SuppressWarnings("unchecked")
+    private Mono<Boolean> replayOne(MappedSegmentSpool.SpoolRecord record) {
+        StandardEnvelope<T> envelope;
+        try {
+            envelope = objectMapper.readValue(record.payload(), StandardEnvelope.class);
+        } catch (RuntimeException e) {
+            log.error("[Spool] corrupt record dropped segment={} offset={}", record.segmentId(), record.offset(), e);
+            droppedCorrupt.increment();
+            return Mono.just(true);
+        }
+
+        return delegate.publish(envelope)
+                .thenReturn(true)
+                .onErrorResume(e -> {
+                    if (HttpEventPublisher.isRetryable(e)) {
+                        return Mono.just(false);
+                    }
+                    log.error("[Spool] replay rejected, dropping trxId={}", trxId(envelope), e);
+                    droppedRejected.increment();
+                    return Mono.just(true);
+                });
+    }
+
+    private Counter dropCounter(String reason) {
+        return Counter.builder("hdt.publisher.spool.dropped").tag("reason", reason).register(meterRegistry);
+    }
+
+    private static String trxId(StandardEnvelope<?> envelope) {
+        return (envelope != null && envelope.getHeader() != null) ? envelope.getHeader().getTrxId() : "UNKNOWN";
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (replayLoop != null) replayLoop.dispose();
+        if (replayScheduler != null) replayScheduler.dispose();
+        if (spool != null) spool.close();
+    }
+
+    public static class SpoolFullException extends RuntimeException {
+        public SpoolFullException(String trxId, long capacityBytes) {
+            super("Spool full, envelope dropped trxId=" + trxId + " capacityBytes=" + capacityBytes);
+        }
+    }
+}
@@ -1,22 +1,164 @@
 package com.mpole.hdt.gateway.ingestion.service;
 
+import com.mpole.hdt.gateway.infrastructure.config.VendorPollingProperties;
+import com.mpole.hdt.gateway.infrastructure.external.dto.StandardBodyItem;
+import com.mpole.hdt.gateway.infrastructure.external.dto.StandardEnvelope;
+import com.mpole.hdt.gateway.infrastructure.external.dto.StandardHeader;
+import com.mpole.hdt.gateway.ingestion.filter.ChangeDetectionFilter;
+import com.mpole.hdt.gateway.ingestion.publisher.EventPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 통합SI/벤더 폴링 엔진
+ * - 대상(target)별 주기/jitter/타임아웃/동시성 상한으로 externalWebClient 논블로킹 호출
+ * - 이전 폴링이 끝나지 않은 주기는 건너뜀 (중복 실행 방지, skipped 카운트)
+ * - 응답(StandardBodyItem 배열)을 StandardEnvelope로 감싸 변화 감지 필터 후 EventPublisher로 발행
+ * - 대상별 지연시간 히스토그램: hdt.polling.latency{target, outcome}
+ */
+@Slf4j
 @Service
-public class VendorPollingService {         // Dummy 서비스 클래스
+@EnableConfigurationProperties(VendorPollingProperties.class)
+public class VendorPollingService {
     private final WebClient externalWebClient;
+    private final EventPublisher<Object> eventPublisher;
+    private final ChangeDetectionFilter changeFilter;
+    private final VendorPollingProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Disposable.Composite loops = Disposables.composite();
 
-    public VendorPollingService(WebClient externalWebClient) {
+    public VendorPollingService(
+            @Qualifier("externalWebClient") WebClient externalWebClient,
+            EventPublisher<Object> eventPublisher,
+            ChangeDetectionFilter changeFilter,
+            VendorPollingProperties properties,
+            MeterRegistry meterRegistry
+    ) {
         this.externalWebClient = externalWebClient;
+        this.eventPublisher = eventPublisher;
+        this.changeFilter = changeFilter;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("[Polling] disabled");
+            return;
+        }
+        for (VendorPollingProperties.Target target : properties.getTargets()) {
+            if (!target.isEnabled()) continue;
+            loops.add(schedule(target));
+            log.info("[Polling] target={} path={} groups={} interval={} timeout={} maxConcurrency={}",
+                    target.getName(), target.getPath(), target.getPointGroups().size(),
+                    target.getInterval(), target.getTimeout(), target.getMaxConcurrency());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        loops.dispose();
+    }
+
+    private Disposable schedule(VendorPollingProperties.Target target) {
+        Counter skipped = Counter.builder("hdt.polling.skipped")
+                .description("이전 폴링 진행 중이라 건너뛴 주기")
+                .tag("target", target.getName())
+                .register(meterRegistry);
+
+        return Flux.interval(randomDelay(target.getJitter()), target.getInterval(), Schedulers.parallel())
+                // 진행 중(concatMap 미요청)인 동안 도착한 tick은 버림
+                .onBackpressureDrop(tick -> skipped.increment())
+                .concatMap(tick -> Mono.delay(randomDelay(target.getJitter()))
+                        .then(pollTarget(target)), 0)
+                .subscribe();
+    }
+
+    /**
+     * 대상 1회 폴링: 그룹별 호출을 maxConcurrency 까지 동시 실행
+     */
+    Mono<Void> pollTarget(VendorPollingProperties.Target target) {
+        List<String> groups = target.getPointGroups().isEmpty()
+                ? Collections.singletonList(null)
+                : target.getPointGroups();
+
+        return Flux.fromIterable(groups)
+                .flatMap(group -> pollGroup(target, group), target.getMaxConcurrency())
+                .then();
+    }
+
+    private Mono<Void> pollGroup(VendorPollingProperties.Target target, String group) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+
+            return externalWebClient.get()
+                    .uri(builder -> {
+                        builder.path(target.getPath());
+                        if (group != null) builder.queryParam("group", group);
+                        return builder.build();
+                    })
+                    .retrieve()
+                    .bodyToFlux(StandardBodyItem.class)
+                    .collect(ArrayList<StandardBodyItem>::new, List::add)
+                    .timeout(target.getTimeout())
+                    .doOnSuccess(items -> sample.stop(latencyTimer(target, "success")))
+                    .doOnError(e -> sample.stop(latencyTimer(target, "error")))
+                    .filter(items -> !items.isEmpty())
+                    .mapNotNull(items -> changeFilter.apply(toEnvelope(target, items)))
+                    .flatMap(eventPublisher::publish)
+                    .onErrorResume(e -> {
+                        log.warn("[Polling] fail target={} group={}: {}", target.getName(), group, e.toString());
+                        return Mono.empty();
+                    });
+        });
+    }
+
+    private StandardEnvelope<Object> toEnvelope(VendorPollingProperties.Target target, List<StandardBodyItem> items) {
+        return StandardEnvelope.builder()
+                .header(StandardHeader.builder()
+                        .trxId(UUID.randomUUID().toString())
+                        .timestamp(OffsetDateTime.now().toString())
+                        .senderId(target.getSenderId())
+                        .messageType(target.getMessageType())
+                        .build())
+                .body(items)
+                .build();
+    }
+
+    private Timer latencyTimer(VendorPollingProperties.Target target, String outcome) {
+        return Timer.builder("hdt.polling.latency")
+                .description("벤더 폴링 호출 지연시간")
+                .tag("target", target.getName())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
-    public String pollOnce() {
-        return externalWebClient
-                .get()
-                .uri("/dummy")
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();
+    private static Duration randomDelay(Duration jitter) {
+        long max = jitter.toMillis();
+        return max <= 0 ? Duration.ZERO : Duration.ofMillis(ThreadLocalRandom.current().nextLong(max + 1));
     }
 }
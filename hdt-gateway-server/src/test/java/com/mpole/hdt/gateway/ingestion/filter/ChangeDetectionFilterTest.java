@@ -0,0 +1,69 @@
+package com.mpole.hdt.gateway.ingestion.filter;
+
+import com.mpole.hdt.gateway.infrastructure.config.ChangeDetectionProperties;
+import com.mpole.hdt.gateway.infrastructure.external.dto.MessageType;
+import com.mpole.hdt.gateway.infrastructure.external.dto.StandardBodyItem;
+import com.mpole.hdt.gateway.infrastructure.external.dto.StandardEnvelope;
+import com.mpole.hdt.gateway.infrastructure.external.dto.StandardHeader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeDetectionFilterTest {
+
+    @Test
+    void percentDeadbandPublishesChangeAwayFromZero() {
+        ChangeDetectionFilter filter = filter(0, 10);
+
+        assertThat(publish(filter, "0")).isTrue();
+        assertThat(publish(filter, "0")).isFalse();
+        assertThat(publish(filter, "0.5")).isTrue();
+        // 0.5 → 0.52: 4% 변화, deadband 이내
+        assertThat(publish(filter, "0.52")).isFalse();
+    }
+
+    @Test
+    void textValuesWithSameHashAreDistinct() {
+        ChangeDetectionFilter filter = filter(0, 0);
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+
+        assertThat(publish(filter, "Aa")).isTrue();
+        assertThat(publish(filter, "Aa")).isFalse();
+        assertThat(publish(filter, "BB")).isTrue();
+    }
+
+    @Test
+    void qualityChangeWithSameHashIsPublished() {
+        ChangeDetectionFilter filter = filter(0, 0);
+
+        assertThat(publish(filter, item("1", "Aa"))).isTrue();
+        assertThat(publish(filter, item("1", "BB"))).isTrue();
+        assertThat(publish(filter, item("1", "BB"))).isFalse();
+    }
+
+    private static ChangeDetectionFilter filter(double absolute, double percent) {
+        ChangeDetectionProperties properties = new ChangeDetectionProperties();
+        properties.getDefaults().setAbsolute(absolute);
+        properties.getDefaults().setPercent(percent);
+        return new ChangeDetectionFilter(properties, new SimpleMeterRegistry());
+    }
+
+    private static boolean publish(ChangeDetectionFilter filter, String value) {
+        return publish(filter, item(value, "GOOD"));
+    }
+
+    private static boolean publish(ChangeDetectionFilter filter, StandardBodyItem item) {
+        StandardEnvelope<Object> envelope = StandardEnvelope.builder()
+                .header(StandardHeader.builder().messageType(MessageType.UPDATE).build())
+                .body(List.of(item))
+                .build();
+        return filter.apply(envelope) != null;
+    }
+
+    private static StandardBodyItem item(String value, String quality) {
+        return StandardBodyItem.builder().pointCode("P-1").value(value).quality(quality).build();
+    }
+}
@@ -0,0 +1,171 @@
+package com.mpole.hdt.gateway.ingestion.publisher;
+
+import com.mpole.hdt.gateway.infrastructure.external.dto.StandardBodyItem;
+import com.mpole.hdt.gateway.infrastructure.external.dto.StandardEnvelope;
+import com.mpole.hdt.gateway.infrastructure.external.dto.StandardHeader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchingEventPublisherTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final Pattern POINT_CODE = Pattern.compile("\"pointCode\":\"([^\"]+)\"");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<Sent> sent = new CopyOnWriteArrayList<>();
+
+    @Test
+    void partialAdmissionResendsOnlyTheTail() {
+        // 첫 요청: a1,a2,b1 적재 후 429 → 재시도는 b2,b3 만
+        BatchingEventPublisher<Object> publisher = publisher(5, 1, 4, BatchingEventPublisher.Format.NDJSON,
+                request -> sent.size() == 1 ? reply(HttpStatus.TOO_MANY_REQUESTS, 3) : reply(HttpStatus.ACCEPTED, 0));
+
+        CompletableFuture<Void> a = publisher.publish(envelope("a1", "a2")).toFuture();
+        CompletableFuture<Void> b = publisher.publish(envelope("b1", "b2", "b3")).toFuture();
+
+        assertThat(a).succeedsWithin(TIMEOUT);
+        assertThat(b).succeedsWithin(TIMEOUT);
+
+        assertThat(sent).extracting(Sent::path).containsOnly("/internal/events/stream");
+        assertThat(sent).extracting(Sent::pointCodes).containsExactly(
+                List.of("a1", "a2", "b1", "b2", "b3"),
+                List.of("b2", "b3"));
+        assertThat(envelopes("accepted")).isEqualTo(2);
+    }
+
+    @Test
+    void rejectedBatchIsIsolatedPerItemAfterAdmittedPrefix() {
+        // 배치 400 (앞 1건 적재) → 나머지 2건만 건별 전송, c1 만 거절
+        BatchingEventPublisher<Object> publisher = publisher(3, 1, 4, BatchingEventPublisher.Format.NDJSON,
+                request -> {
+                    if (request.path().endsWith("/stream")) return reply(HttpStatus.BAD_REQUEST, 1);
+                    return request.pointCodes().contains("c1") ? reply(HttpStatus.BAD_REQUEST, 0) : reply(HttpStatus.ACCEPTED, 0);
+                });
+
+        CompletableFuture<Void> a = publisher.publish(envelope("a1")).toFuture();
+        CompletableFuture<Void> b = publisher.publish(envelope("b1")).toFuture();
+        CompletableFuture<Void> c = publisher.publish(envelope("c1")).toFuture();
+
+        assertThat(a).succeedsWithin(TIMEOUT);
+        assertThat(b).succeedsWithin(TIMEOUT);
+        assertThat(c).failsWithin(TIMEOUT)
+                .withThrowableThat()
+                .withCauseInstanceOf(HttpEventPublisher.NonRetryablePublishException.class);
+
+        assertThat(sent).filteredOn(s -> s.path().equals("/internal/events"))
+                .extracting(Sent::pointCodes)
+                .containsExactlyInAnyOrder(List.of("b1"), List.of("c1"));
+        assertThat(envelopes("accepted")).isEqualTo(2);
+        assertThat(envelopes("rejected")).isEqualTo(1);
+        assertThat(registry.counter("hdt.publisher.batches", "outcome", "isolated").count()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsWhenTooManyBatchesAreQueued() {
+        // 응답하지 않는 전송 1건 + 대기 1건까지 허용, 세 번째 배치는 즉시 503
+        BatchingEventPublisher<Object> publisher = publisher(1, 1, 1, BatchingEventPublisher.Format.JSON,
+                request -> Mono.never());
+
+        publisher.publish(envelope("a1")).subscribe();
+        publisher.publish(envelope("b1")).subscribe();
+
+        assertThatThrownBy(() -> publisher.publish(envelope("c1")).block(TIMEOUT))
+                .isInstanceOf(HttpEventPublisher.RetryablePublishException.class)
+                .hasMessageContaining("status=503");
+        assertThat(envelopes("failed")).isEqualTo(1);
+        assertThat(sent).hasSize(1);
+    }
+
+    private BatchingEventPublisher<Object> publisher(int maxItems, int maxInFlight, int maxQueuedBatches,
+                                                     BatchingEventPublisher.Format format,
+                                                     Function<Sent, Mono<ClientResponse>> responder) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> capture(request).flatMap(s -> {
+                    sent.add(s);
+                    return responder.apply(s);
+                }))
+                .build();
+        return new BatchingEventPublisher<>(webClient, new HttpEventPublisher<>(webClient), registry,
+                maxItems, Duration.ofSeconds(10), maxInFlight, maxQueuedBatches, format);
+    }
+
+    private static Mono<Sent> capture(ClientRequest request) {
+        MockClientHttpRequest http = new MockClientHttpRequest(request.method(), request.url());
+        ExchangeStrategies strategies = ExchangeStrategies.withDefaults();
+        return request.body()
+                .insert(http, new BodyInserter.Context() {
+                    @Override
+                    public List<HttpMessageWriter<?>> messageWriters() {
+                        return strategies.messageWriters();
+                    }
+
+                    @Override
+                    public Optional<ServerHttpRequest> serverRequest() {
+                        return Optional.empty();
+                    }
+
+                    @Override
+                    public Map<String, Object> hints() {
+                        return Collections.emptyMap();
+                    }
+                })
+                .then(Mono.defer(http::getBodyAsString))
+                .defaultIfEmpty("")
+                .map(body -> new Sent(request.url().getPath(), pointCodes(body)));
+    }
+
+    private static List<String> pointCodes(String body) {
+        List<String> codes = new ArrayList<>();
+        Matcher matcher = POINT_CODE.matcher(body);
+        while (matcher.find()) codes.add(matcher.group(1));
+        return codes;
+    }
+
+    private static Mono<ClientResponse> reply(HttpStatus status, long accepted) {
+        ClientResponse.Builder response = ClientResponse.create(status);
+        if (accepted > 0) response.header("X-Accepted-Count", String.valueOf(accepted));
+        return Mono.just(response.build());
+    }
+
+    private static StandardEnvelope<Object> envelope(String... pointCodes) {
+        return StandardEnvelope.builder()
+                .header(StandardHeader.builder().trxId(pointCodes[0]).build())
+                .body(Arrays.stream(pointCodes)
+                        .map(code -> StandardBodyItem.builder().pointCode(code).value("1").build())
+                        .toList())
+                .build();
+    }
+
+    private double envelopes(String outcome) {
+        return registry.counter("hdt.publisher.envelopes", "outcome", outcome).count();
+    }
+
+    private record Sent(String path, List<String> pointCodes) {
+    }
+}
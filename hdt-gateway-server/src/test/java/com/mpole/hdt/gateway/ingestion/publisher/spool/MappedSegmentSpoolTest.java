@@ -0,0 +1,81 @@
+package com.mpole.hdt.gateway.ingestion.publisher.spool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedSegmentSpoolTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void appendRollsOverAndReplaysInOrder() {
+        try (MappedSegmentSpool spool = new MappedSegmentSpool(dir, 64, 4)) {
+            for (int i = 0; i < 6; i++) {
+                assertThat(spool.append(bytes("record-" + i))).isTrue();
+            }
+            assertThat(spool.pendingRecords()).isEqualTo(6);
+            assertThat(segmentFiles()).hasSizeGreaterThan(1);
+
+            List<MappedSegmentSpool.SpoolRecord> records = spool.peek(10);
+            assertThat(records).extracting(r -> text(r.payload()))
+                    .containsExactly("record-0", "record-1", "record-2", "record-3", "record-4", "record-5");
+
+            records.forEach(spool::ack);
+            assertThat(spool.isEmpty()).isTrue();
+            assertThat(segmentFiles()).hasSize(1);
+        }
+    }
+
+    @Test
+    void rejectsAppendWhenDiskLimitReached() {
+        try (MappedSegmentSpool spool = new MappedSegmentSpool(dir, 32, 2)) {
+            // 세그먼트(32B)당 레코드(9B 헤더 + 10B) 1건
+            assertThat(spool.append(bytes("0123456789"))).isTrue();
+            assertThat(spool.append(bytes("0123456789"))).isTrue();
+            assertThat(spool.append(bytes("0123456789"))).isFalse();
+        }
+    }
+
+    @Test
+    void recoversPendingRecordsAfterRestart() {
+        try (MappedSegmentSpool spool = new MappedSegmentSpool(dir, 64, 4)) {
+            spool.append(bytes("a"));
+            spool.append(bytes("b"));
+            spool.append(bytes("c"));
+            spool.ack(spool.peek(1).get(0));
+        }
+
+        try (MappedSegmentSpool spool = new MappedSegmentSpool(dir, 64, 4)) {
+            assertThat(spool.pendingRecords()).isEqualTo(2);
+            assertThat(spool.peek(10)).extracting(r -> text(r.payload())).containsExactly("b", "c");
+
+            spool.append(bytes("d"));
+            assertThat(spool.peek(10)).extracting(r -> text(r.payload())).containsExactly("b", "c", "d");
+        }
+    }
+
+    private List<Path> segmentFiles() {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.toList();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] b) {
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}